@@ -4,6 +4,7 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.entity.EntityRendererManager;
 import net.minecraft.command.arguments.ArgumentSerializer;
 import net.minecraft.command.arguments.ArgumentTypes;
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.resources.IReloadableResourceManager;
 import net.minecraft.resources.IResourceManager;
@@ -51,6 +52,7 @@ import net.silentchaos512.gear.init.*;
 import net.silentchaos512.gear.item.CraftingItems;
 import net.silentchaos512.gear.network.Network;
 import net.silentchaos512.gear.util.Const;
+import net.silentchaos512.gear.util.EquippedTraits;
 import net.silentchaos512.gear.world.ModWorldFeatures;
 import net.silentchaos512.lib.event.Greetings;
 import net.silentchaos512.lib.event.InitialSpawnItems;
@@ -82,6 +84,12 @@ class SideProxy implements IProxy {
         MinecraftForge.EVENT_BUS.addListener(SideProxy::onAddReloadListeners);
         MinecraftForge.EVENT_BUS.addListener(SideProxy::serverStarted);
         MinecraftForge.EVENT_BUS.addListener(SideProxy::serverStopping);
+        MinecraftForge.EVENT_BUS.addGenericListener(Entity.class, EquippedTraits::onAttachCapabilities);
+        MinecraftForge.EVENT_BUS.addListener(EquippedTraits::onEquipmentChange);
+
+        if (ModList.get().isLoaded(Const.CURIOS)) {
+            MinecraftForge.EVENT_BUS.addListener(CuriosCompat::onCurioChange);
+        }
 
         ArgumentTypes.register("material_grade", MaterialGrade.Argument.class, new ArgumentSerializer<>(MaterialGrade.Argument::new));
     }
@@ -101,6 +109,8 @@ class SideProxy implements IProxy {
 
         Greetings.addMessage(SideProxy::detectDataLoadingFailure);
 
+        EquippedTraits.register();
+
         if (ModList.get().isLoaded(Const.CURIOS)) {
             CurioGearItemCapability.register();
         }
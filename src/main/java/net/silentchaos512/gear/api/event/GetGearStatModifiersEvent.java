@@ -0,0 +1,93 @@
+package net.silentchaos512.gear.api.event;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.eventbus.api.Event;
+import net.silentchaos512.gear.api.item.GearType;
+import net.silentchaos512.gear.api.part.PartDataList;
+import net.silentchaos512.gear.api.stats.ItemStat;
+import net.silentchaos512.gear.api.stats.StatInstance;
+import net.silentchaos512.gear.api.stats.StatModifierTable;
+import net.silentchaos512.gear.util.EventListenerCheck;
+
+import javax.annotation.Nullable;
+
+/**
+ * Fired once per gear build (stat recalculation) with the stat modifiers of all parts. This allows
+ * modifiers to be added for any stat with a single event, instead of handling {@link
+ * GetStatModifierEvent} for every part and stat. Unlike the per-part event, this is fired every
+ * time stats are recalculated, so the results are never cached.
+ * <p>
+ * May be fired from worker threads, see {@link net.silentchaos512.gear.util.GearData#recalculateStatsBulk}.
+ *
+ * @since 2.6.28
+ */
+public class GetGearStatModifiersEvent extends Event {
+    @SuppressWarnings("ConstantConditions")
+    private static final EventListenerCheck LISTENERS = EventListenerCheck.of(() -> new GetGearStatModifiersEvent(ItemStack.EMPTY, null, PartDataList.empty(), StatModifierTable.EMPTY));
+
+    private final ItemStack gear;
+    private final GearType gearType;
+    private final PartDataList parts;
+    private StatModifierTable modifiers;
+    @Nullable private StatModifierTable.Builder added;
+
+    public GetGearStatModifiersEvent(ItemStack gear, GearType gearType, PartDataList parts, StatModifierTable modifiers) {
+        this.gear = gear;
+        this.gearType = gearType;
+        this.parts = parts;
+        this.modifiers = modifiers;
+    }
+
+    /**
+     * Checks if anything listens for this event. The event is not posted if nothing does.
+     *
+     * @return True if the event has listeners
+     */
+    public static boolean hasListeners() {
+        return LISTENERS.hasListeners();
+    }
+
+    @Override
+    public boolean isCancelable() {
+        return false;
+    }
+
+    public ItemStack getGear() {
+        return gear;
+    }
+
+    public GearType getGearType() {
+        return gearType;
+    }
+
+    public PartDataList getParts() {
+        return parts;
+    }
+
+    /**
+     * Gets all stat modifiers of the gear, including any added by other listeners.
+     *
+     * @return The stat modifiers
+     */
+    public StatModifierTable getModifiers() {
+        if (added != null) {
+            modifiers = added.build();
+            added = null;
+        }
+        return modifiers;
+    }
+
+    /**
+     * Adds a modifier for the gear's type. It is applied after all modifiers from parts.
+     *
+     * @param stat  The stat
+     * @param value The modifier value
+     * @param op    The modifier operation
+     */
+    public void addModifier(ItemStat stat, float value, StatInstance.Operation op) {
+        if (added == null) {
+            added = StatModifierTable.builder().addAll(modifiers);
+        }
+        added.add(stat, gearType, value, op);
+    }
+}
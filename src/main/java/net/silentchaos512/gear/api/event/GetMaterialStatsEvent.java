@@ -5,6 +5,7 @@ import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.StatInstance;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
+import net.silentchaos512.gear.util.EventListenerCheck;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -18,6 +19,9 @@ import java.util.List;
  * @since 2.0.0
  */
 public class GetMaterialStatsEvent extends Event {
+    @SuppressWarnings("ConstantConditions")
+    private static final EventListenerCheck LISTENERS = EventListenerCheck.of(() -> new GetMaterialStatsEvent(null, null, null, new ArrayList<>()));
+
     private final ItemStat stat; // TODO: change to StatGearKey
     private final PartType partType;
     private final List<StatInstance> modifiers;
@@ -30,6 +34,16 @@ public class GetMaterialStatsEvent extends Event {
         this.material = material;
     }
 
+    /**
+     * Checks if anything listens for this event. The event is not posted if nothing does.
+     *
+     * @return True if the event has listeners
+     * @since 2.6.28
+     */
+    public static boolean hasListeners() {
+        return LISTENERS.hasListeners();
+    }
+
     @Override
     public boolean isCancelable() {
         return false;
@@ -4,7 +4,9 @@ import net.minecraftforge.eventbus.api.Event;
 import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.StatInstance;
 import net.silentchaos512.gear.gear.part.PartData;
+import net.silentchaos512.gear.util.EventListenerCheck;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -15,6 +17,9 @@ import java.util.List;
  * @since Experimental
  */
 public class GetStatModifierEvent extends Event {
+    @SuppressWarnings("ConstantConditions")
+    private static final EventListenerCheck LISTENERS = EventListenerCheck.of(() -> new GetStatModifierEvent(null, null, new ArrayList<>()));
+
     private final ItemStat stat;
     private final List<StatInstance> modifiers;
     private final PartData part;
@@ -26,6 +31,16 @@ public class GetStatModifierEvent extends Event {
         this.part = part;
     }
 
+    /**
+     * Checks if anything listens for this event. The event is not posted if nothing does.
+     *
+     * @return True if the event has listeners
+     * @since 2.6.28
+     */
+    public static boolean hasListeners() {
+        return LISTENERS.hasListeners();
+    }
+
     @Override
     public boolean isCancelable() {
         return false;
@@ -3,7 +3,9 @@ package net.silentchaos512.gear.api.event;
 import net.minecraft.item.ItemStack;
 import net.silentchaos512.gear.api.part.PartDataList;
 import net.silentchaos512.gear.api.traits.ITrait;
+import net.silentchaos512.gear.util.EventListenerCheck;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -14,6 +16,8 @@ import java.util.Map;
  */
 @SuppressWarnings("AssignmentOrReturnOfFieldWithMutableType")
 public class GetTraitsEvent extends GearItemEvent {
+    private static final EventListenerCheck LISTENERS = EventListenerCheck.of(() -> new GetTraitsEvent(ItemStack.EMPTY, PartDataList.empty(), new HashMap<>()));
+
     private final Map<ITrait, Integer> traits;
 
     public GetTraitsEvent(ItemStack gear, PartDataList parts, Map<ITrait, Integer> traits) {
@@ -21,6 +25,16 @@ public class GetTraitsEvent extends GearItemEvent {
         this.traits = traits;
     }
 
+    /**
+     * Checks if anything listens for this event.
+     *
+     * @return True if the event has listeners
+     * @since 2.6.28
+     */
+    public static boolean hasListeners() {
+        return LISTENERS.hasListeners();
+    }
+
     public Map<ITrait, Integer> getTraits() {
         return traits;
     }
@@ -26,6 +26,7 @@ public final class GearType {
     private static final Pattern VALID_NAME = Pattern.compile("[^a-z_]");
     private static final Map<String, GearType> VALUES = new HashMap<>();
     private static final Map<GearType, ICoreItem> ITEMS = new HashMap<>();
+    private static final List<GearType> BY_INDEX = new ArrayList<>();
 
     // A non-existent gear type which matches nothing
     public static final GearType NONE = getOrCreate("none");
@@ -149,6 +150,27 @@ public final class GearType {
         return VALUES.computeIfAbsent(name, k -> new GearType(name, parent, animationFrames, durabilityStat));
     }
 
+    /**
+     * Gets the number of gear types created so far. Every gear type's {@link #getIndex()} is less
+     * than this value.
+     *
+     * @return The number of gear types
+     */
+    public static int getTypeCount() {
+        return BY_INDEX.size();
+    }
+
+    /**
+     * Gets a gear type by its index.
+     *
+     * @param index The index, see {@link #getIndex()}
+     * @return The gear type
+     * @throws IndexOutOfBoundsException if no gear type has the index
+     */
+    public static GearType byIndex(int index) {
+        return BY_INDEX.get(index);
+    }
+
     public static GearType fromJson(JsonObject json, String key) {
         String str = JSONUtils.getString(json, key);
         GearType type = get(str);
@@ -162,18 +184,39 @@ public final class GearType {
     @Nullable private final GearType parent;
     private final int animationFrames;
     private final Supplier<ItemStat> durabilityStat;
+    private final int index;
+    // Bit set of the indices of this type and all its ancestors
+    private final long[] ancestry;
 
     private GearType(String name, @Nullable GearType parent, int animationFrames, Supplier<ItemStat> durabilityStat) {
         this.name = name;
         this.parent = parent;
         this.animationFrames = animationFrames;
         this.durabilityStat = durabilityStat;
+        this.index = BY_INDEX.size();
+        BY_INDEX.add(this);
+
+        // Parents are always created first, so their ancestry is already known
+        this.ancestry = parent != null
+                ? Arrays.copyOf(parent.ancestry, Math.max(parent.ancestry.length, (this.index >>> 6) + 1))
+                : new long[(this.index >>> 6) + 1];
+        this.ancestry[this.index >>> 6] |= 1L << this.index;
     }
 
     public String getName() {
         return name;
     }
 
+    /**
+     * Gets a dense index for the gear type. Indices are assigned in creation order and are stable
+     * for the whole session, so they can be used to index arrays.
+     *
+     * @return The gear type's index
+     */
+    public int getIndex() {
+        return index;
+    }
+
     /**
      * Gets the parent gear type, if there is one. The parent type may also have a parent.
      *
@@ -204,7 +247,7 @@ public final class GearType {
     }
 
     public boolean matches(GearType type) {
-        return matches(type.name, true);
+        return matches(type, true);
     }
 
     /**
@@ -217,14 +260,30 @@ public final class GearType {
      * @return True if this type's name is equal to type, or if its parent matches (recursive)
      */
     public boolean matches(String type, boolean includeAll) { //FIXME: The way includesAll is handled does not make sense anymore
-        if (type.contains("/")) {
-            return matches(type.split("/")[1], includeAll);
+        int slash = type.indexOf('/');
+        if (slash != -1) {
+            int end = type.indexOf('/', slash + 1);
+            return matches(type.substring(slash + 1, end != -1 ? end : type.length()), includeAll);
         }
-        return (includeAll && "all".equals(type)) || name.equals(type) || (parent != null && parent.matches(type, includeAll));
+        GearType other = VALUES.get(type);
+        return other != null && matches(other, includeAll);
     }
 
+    /**
+     * Check if this type is the given type, or if any of its ancestors are. The type "all" will
+     * match anything if {@code includeAll} is true. This is a single bit test.
+     *
+     * @param type       The type
+     * @param includeAll Whether or not to consider the "all" type. This should be excluded if
+     *                   trying to match more specific types.
+     * @return True if this type is type, or if any of its ancestors are
+     */
     public boolean matches(GearType type, boolean includeAll) {
-        return matches(type.name, includeAll);
+        if (includeAll && type == ALL) {
+            return true;
+        }
+        int word = type.index >>> 6;
+        return word < ancestry.length && (ancestry[word] & (1L << type.index)) != 0;
     }
 
     public boolean isGear() {
@@ -15,6 +15,7 @@ import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.StatInstance;
 import net.silentchaos512.gear.api.traits.TraitActionContext;
 import net.silentchaos512.gear.gear.part.PartData;
+import net.silentchaos512.gear.gear.trait.TraitHook;
 import net.silentchaos512.gear.util.GearData;
 import net.silentchaos512.gear.util.TraitHelper;
 import net.silentchaos512.utils.Color;
@@ -37,7 +38,7 @@ public interface ICoreItem extends IItemProvider, IStatItem {
         parts.forEach(p -> p.onAddToGear(result));
         GearData.recalculateStats(result, null);
         // Allow traits to make any needed changes (must be done after a recalculate)
-        TraitHelper.activateTraits(result, 0, (trait, level, nothing) -> {
+        TraitHelper.activateTraits(result, 0, TraitHook.GEAR_CRAFTED, (trait, level, nothing) -> {
             trait.onGearCrafted(new TraitActionContext(null, level, result));
             return 0;
         });
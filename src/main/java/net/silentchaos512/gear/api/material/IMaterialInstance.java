@@ -13,6 +13,7 @@ import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.api.stats.IItemStat;
 import net.silentchaos512.gear.api.stats.StatInstance;
 import net.silentchaos512.gear.api.traits.TraitInstance;
+import net.silentchaos512.gear.api.util.GearBuildContext;
 import net.silentchaos512.gear.api.util.IGearComponentInstance;
 import net.silentchaos512.gear.api.util.PartGearKey;
 import net.silentchaos512.gear.api.util.StatGearKey;
@@ -130,6 +131,15 @@ public interface IMaterialInstance extends IGearComponentInstance<IMaterial> {
         return material.getStatModifiers(this, partType, key, gear);
     }
 
+    @Override
+    default Collection<StatInstance> getStatModifiers(PartType partType, StatGearKey key, ItemStack gear, GearBuildContext context) {
+        IMaterial material = get();
+        if (material == null) {
+            return Collections.emptyList();
+        }
+        return material.getStatModifiers(this, partType, key, gear, context);
+    }
+
     @Override
     default Collection<TraitInstance> getTraits(PartType partType, GearType gearType, ItemStack gear) {
         IMaterial material = get();
@@ -10,6 +10,7 @@ import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.ItemStats;
 import net.silentchaos512.gear.api.stats.StatInstance;
 import net.silentchaos512.gear.api.traits.TraitInstance;
+import net.silentchaos512.gear.api.util.GearBuildContext;
 import net.silentchaos512.gear.api.util.IGearComponentInstance;
 import net.silentchaos512.gear.api.util.PartGearKey;
 import net.silentchaos512.gear.api.util.StatGearKey;
@@ -74,6 +75,19 @@ public interface IPartData extends IGearComponentInstance<IGearPart> {
         return getStatModifiers(this.getType(), key, gear);
     }
 
+    default Collection<StatInstance> getStatModifiers(StatGearKey key, ItemStack gear, GearBuildContext context) {
+        return getStatModifiers(this.getType(), key, gear, context);
+    }
+
+    @Override
+    default Collection<StatInstance> getStatModifiers(PartType partType, StatGearKey key, ItemStack gear, GearBuildContext context) {
+        IGearPart part = get();
+        if (part == null) {
+            return Collections.emptyList();
+        }
+        return part.getStatModifiers(this, this.getType(), key, gear, context);
+    }
+
     @Override
     default Collection<StatInstance> getStatModifiers(PartType partType, StatGearKey key, ItemStack gear) {
         IGearPart part = get();
@@ -100,6 +114,15 @@ public interface IPartData extends IGearComponentInstance<IGearPart> {
         return part.getTraits(this, PartGearKey.of(gearType, partType), gear);
     }
 
+    @Override
+    default Collection<TraitInstance> getTraits(PartGearKey key, ItemStack gear, GearBuildContext context) {
+        IGearPart part = get();
+        if (part == null) {
+            return Collections.emptyList();
+        }
+        return part.getTraits(this, key, gear, context);
+    }
+
     @Override
     default int getNameColor(PartType partType, GearType gearType) {
         return Color.VALUE_WHITE;
@@ -35,6 +35,7 @@ public class ItemStat extends ForgeRegistryEntry<ItemStat> implements IItemStat
     private final boolean displayAsInt;
     private final DisplayFormat displayFormat;
     private final Function<Float, Float> missingRodFunction;
+    private final int index;
 
     public ItemStat(float defaultValue, float minValue, float maxValue, TextFormatting nameColor, Properties properties) {
         this(defaultValue, minValue, maxValue, new Color(nameColor.getColor() != null ? nameColor.getColor() : Color.VALUE_WHITE), properties);
@@ -63,9 +64,21 @@ public class ItemStat extends ForgeRegistryEntry<ItemStat> implements IItemStat
             throw new IllegalArgumentException("Default value cannot be bigger than maximum value!");
         }
 
+        this.index = ItemStats.STATS_IN_ORDER.size();
         ItemStats.STATS_IN_ORDER.add(this);
     }
 
+    /**
+     * Gets the position of this stat in {@link ItemStats#allStatsOrdered()}. Indices are assigned
+     * in creation order and are stable for the whole session, so they can be used to index arrays
+     * of stat values.
+     *
+     * @return The stat's index
+     */
+    public int getIndex() {
+        return index;
+    }
+
     @Override
     public ResourceLocation getStatId() {
         return Objects.requireNonNull(getRegistryName());
@@ -121,6 +134,22 @@ public class ItemStat extends ForgeRegistryEntry<ItemStat> implements IItemStat
     private static final float WEIGHT_BASE_MIN = 2f;
     private static final float WEIGHT_BASE_MAX = 40f;
     private static final float WEIGHT_DEVIATION_COEFF = 2f;
+    // Exponents and minimum base weights for the first few modifiers, indexed by modifier count
+    private static final double[] WEIGHT_EXPONENTS = new double[32];
+    private static final float[] WEIGHTS_AT_BASE_MIN = new float[WEIGHT_EXPONENTS.length];
+
+    private static final int MASK_AVG = 1 << Operation.AVG.ordinal();
+    private static final int MASK_MAX = 1 << Operation.MAX.ordinal();
+    private static final int MASK_MUL1 = 1 << Operation.MUL1.ordinal();
+    private static final int MASK_MUL2 = 1 << Operation.MUL2.ordinal();
+    private static final int MASK_ADD = 1 << Operation.ADD.ordinal();
+
+    static {
+        for (int i = 0; i < WEIGHT_EXPONENTS.length; ++i) {
+            WEIGHT_EXPONENTS[i] = getWeightExponent(i);
+            WEIGHTS_AT_BASE_MIN[i] = (float) Math.pow(WEIGHT_BASE_MIN, WEIGHT_EXPONENTS[i]);
+        }
+    }
 
     public float compute(Collection<StatInstance> modifiers) {
         return compute(this.baseValue, modifiers);
@@ -139,72 +168,117 @@ public class ItemStat extends ForgeRegistryEntry<ItemStat> implements IItemStat
         return compute(baseValue, clampValue, gearType, gearType, modifiers);
     }
 
-    @SuppressWarnings("OverlyComplexMethod")
     public float compute(float baseValue, boolean clampValue, GearType itemGearType, GearType statGearType, Collection<StatInstance> modifiers) {
-        if (modifiers.isEmpty())
+        if (modifiers instanceof StatModifierTable.ModifierList) {
+            // Read values directly from the table, no need to create stat instances
+            StatModifierTable.ModifierList list = (StatModifierTable.ModifierList) modifiers;
+            return compute(baseValue, clampValue, list.values, list.ops, list.size);
+        }
+
+        ModifierBuffer buffer = ModifierBuffer.of(modifiers);
+        return compute(baseValue, clampValue, buffer.values, buffer.ops, buffer.size);
+    }
+
+    /**
+     * Computes the stat value from arrays of modifier values and operations. This only applies the
+     * operations themselves, any adjustments made by subclasses of ItemStat in {@link
+     * #compute(float, boolean, GearType, GearType, Collection)} are not applied. Nothing is
+     * allocated, so this is safe to call in tight loops.
+     *
+     * @param baseValue  The base value of the stat
+     * @param clampValue If true, the result is clamped to the stat's minimum and maximum values
+     * @param values     Values of the modifiers
+     * @param ops        Operations of the modifiers, must be at least {@code size} long
+     * @param size       The number of modifiers in the arrays to use
+     * @return The computed stat value
+     * @since 2.6.28
+     */
+    @SuppressWarnings("OverlyComplexMethod")
+    public float compute(float baseValue, boolean clampValue, float[] values, Operation[] ops, int size) {
+        if (size == 0)
             return baseValue;
 
-        float f0 = baseValue;
+        // Find which operations are present, so passes for missing ones can be skipped. Each
+        // operation still needs its own pass, because the results depend on the order of the
+        // operations and of the modifiers.
+        int opMask = 0;
+        for (int i = 0; i < size; ++i)
+            opMask |= 1 << ops[i].ordinal();
 
         // Average (weighted, used for mains)
-        f0 += getWeightedAverage(modifiers, Operation.AVG);
+        float f0 = baseValue + ((opMask & MASK_AVG) != 0 ? getWeightedAverage(values, ops, size, Operation.AVG) : 0f);
 
         // Maximum
-        for (StatInstance mod : modifiers)
-            if (mod.getOp() == StatInstance.Operation.MAX)
-                f0 = Math.max(f0, mod.getValue());
+        if ((opMask & MASK_MAX) != 0)
+            for (int i = 0; i < size; ++i)
+                if (ops[i] == Operation.MAX)
+                    f0 = Math.max(f0, values[i]);
 
         // Multiplicative
         float f1 = f0;
-        for (StatInstance mod : modifiers)
-            if (mod.getOp() == StatInstance.Operation.MUL1)
-                f1 += f0 * mod.getValue();
+        if ((opMask & MASK_MUL1) != 0)
+            for (int i = 0; i < size; ++i)
+                if (ops[i] == Operation.MUL1)
+                    f1 += f0 * values[i];
 
         // Multiplicative2
-        for (StatInstance mod : modifiers)
-            if (mod.getOp() == StatInstance.Operation.MUL2)
-                f1 *= 1.0f + mod.getValue();
+        if ((opMask & MASK_MUL2) != 0)
+            for (int i = 0; i < size; ++i)
+                if (ops[i] == Operation.MUL2)
+                    f1 *= 1.0f + values[i];
 
         // Additive
-        for (StatInstance mod : modifiers)
-            if (mod.getOp() == StatInstance.Operation.ADD)
-                f1 += mod.getValue();
+        if ((opMask & MASK_ADD) != 0)
+            for (int i = 0; i < size; ++i)
+                if (ops[i] == Operation.ADD)
+                    f1 += values[i];
 
         return clampValue ? clampValue(f1) : f1;
     }
 
-    private static float getPrimaryMod(Iterable<StatInstance> modifiers, Operation op) {
+    public static float getWeightedAverage(Collection<StatInstance> modifiers, Operation op) {
+        ModifierBuffer buffer = ModifierBuffer.of(modifiers);
+        return getWeightedAverage(buffer.values, buffer.ops, buffer.size, op);
+    }
+
+    private static float getWeightedAverage(float[] values, Operation[] ops, int size, Operation op) {
         float primaryMod = -1f;
-        for (StatInstance mod : modifiers) {
-            if (mod.getOp() == op) {
-                if (primaryMod < 0f) {
-                    primaryMod = mod.getValue();
-                }
+        for (int i = 0; i < size; ++i) {
+            if (ops[i] == op && primaryMod < 0f) {
+                primaryMod = values[i];
             }
         }
-        return primaryMod > 0 ? primaryMod : 1;
-    }
+        primaryMod = primaryMod > 0 ? primaryMod : 1;
 
-    public static float getWeightedAverage(Collection<StatInstance> modifiers, Operation op) {
-        float primaryMod = getPrimaryMod(modifiers, op);
         float ret = 0;
         int count = 0;
         float totalWeight = 0f;
-        for (StatInstance mod : modifiers) {
-            if (mod.getOp() == op) {
+        for (int i = 0; i < size; ++i) {
+            if (ops[i] == op) {
                 ++count;
-                float weight = getModifierWeight(mod, primaryMod, count);
+                float weight = getModifierWeight(values[i], primaryMod, count);
                 totalWeight += weight;
-                ret += mod.getValue() * weight;
+                ret += values[i] * weight;
             }
         }
         return count > 0 && totalWeight > 0 ? ret / totalWeight : ret;
     }
 
-    private static float getModifierWeight(StatInstance mod, float primaryMod, int count) {
-        float weightBase = WEIGHT_BASE_MIN + WEIGHT_DEVIATION_COEFF * (mod.getValue() - primaryMod) / primaryMod;
+    private static float getModifierWeight(float value, float primaryMod, int count) {
+        float weightBase = WEIGHT_BASE_MIN + WEIGHT_DEVIATION_COEFF * (value - primaryMod) / primaryMod;
         float weightBaseClamped = MathHelper.clamp(weightBase, WEIGHT_BASE_MIN, WEIGHT_BASE_MAX);
-        return (float) Math.pow(weightBaseClamped, -(count == 0 ? count : 0.5 + 0.5f * count));
+        if (count < WEIGHT_EXPONENTS.length) {
+            // Any modifier not greater than the primary one has the minimum base
+            if (weightBaseClamped == WEIGHT_BASE_MIN) {
+                return WEIGHTS_AT_BASE_MIN[count];
+            }
+            return (float) Math.pow(weightBaseClamped, WEIGHT_EXPONENTS[count]);
+        }
+        return (float) Math.pow(weightBaseClamped, getWeightExponent(count));
+    }
+
+    private static double getWeightExponent(int count) {
+        return -(count == 0 ? count : 0.5 + 0.5f * count);
     }
 
     private static float getMaterialPrimaryMod(Iterable<StatInstance> modifiers, Operation op) {
@@ -286,6 +360,36 @@ public class ItemStat extends ForgeRegistryEntry<ItemStat> implements IItemStat
         return new TranslationTextComponent("stat." + name.getNamespace() + "." + name.getPath());
     }
 
+    /**
+     * Per-thread buffer for the values and operations of a modifier collection, so that the
+     * collection only needs to be iterated once.
+     */
+    private static final class ModifierBuffer {
+        private static final ThreadLocal<ModifierBuffer> BUFFERS = ThreadLocal.withInitial(ModifierBuffer::new);
+
+        private float[] values = new float[16];
+        private Operation[] ops = new Operation[16];
+        private int size;
+
+        static ModifierBuffer of(Collection<StatInstance> modifiers) {
+            ModifierBuffer buffer = BUFFERS.get();
+            int count = modifiers.size();
+            if (count > buffer.values.length) {
+                buffer.values = new float[count];
+                buffer.ops = new Operation[count];
+            }
+
+            int i = 0;
+            for (StatInstance mod : modifiers) {
+                buffer.values[i] = mod.getValue();
+                buffer.ops[i] = mod.getOp();
+                ++i;
+            }
+            buffer.size = i;
+            return buffer;
+        }
+    }
+
     @SuppressWarnings("WeakerAccess")
     public static class Properties {
         private float baseValue = 0f;
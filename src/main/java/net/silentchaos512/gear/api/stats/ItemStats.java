@@ -152,6 +152,16 @@ public final class ItemStats {
         return Collections.unmodifiableList(STATS_IN_ORDER);
     }
 
+    /**
+     * Gets the number of stats created so far. Every stat's {@link ItemStat#getIndex()} is less
+     * than this value.
+     *
+     * @return The number of stats
+     */
+    public static int getStatCount() {
+        return STATS_IN_ORDER.size();
+    }
+
     public static Collection<ItemStat> allStatsOrderedExcluding(Collection<ItemStat> exclude) {
         Collection<ItemStat> ret = new ArrayList<>(STATS_IN_ORDER);
         ret.removeIf(exclude::contains);
@@ -2,6 +2,7 @@ package net.silentchaos512.gear.api.stats;
 
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
+import com.google.common.collect.Multimaps;
 import com.google.common.collect.Multiset;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -20,10 +21,68 @@ import javax.annotation.Nullable;
 import java.util.*;
 import java.util.Map.Entry;
 
+/**
+ * A multimap of stat modifiers. Lookups are served by a {@link StatModifierTable}, which is built on
+ * demand and discarded whenever the map is modified. Views returned by this map are unmodifiable,
+ * use the methods of the map itself to make changes.
+ */
 public class StatModifierMap implements Multimap<StatGearKey, StatInstance> {
     public static final StatModifierMap EMPTY_STAT_MAP = new StatModifierMap();
 
-    private final Multimap<StatGearKey, StatInstance> map = MultimapBuilder.linkedHashKeys().arrayListValues().build();
+    // Either may be null, but never both. The multimap is only created when needed if the map was
+    // created from a table.
+    @Nullable private volatile Multimap<StatGearKey, StatInstance> map;
+    @Nullable private volatile StatModifierTable table;
+
+    public StatModifierMap() {
+        this.map = MultimapBuilder.linkedHashKeys().arrayListValues().build();
+    }
+
+    private StatModifierMap(StatModifierTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Creates a map backed by the given table. This is much cheaper than adding modifiers one by
+     * one, as no multimap is created unless the map is modified or its views are accessed.
+     *
+     * @param table The modifier table
+     * @return A new stat modifier map
+     */
+    public static StatModifierMap of(StatModifierTable table) {
+        return new StatModifierMap(table);
+    }
+
+    private Multimap<StatGearKey, StatInstance> map() {
+        Multimap<StatGearKey, StatInstance> ret = this.map;
+        if (ret == null) {
+            StatModifierTable tableCopy = this.table;
+            ret = tableCopy != null ? tableCopy.toMultimap() : MultimapBuilder.linkedHashKeys().arrayListValues().build();
+            this.map = ret;
+        }
+        return ret;
+    }
+
+    private Multimap<StatGearKey, StatInstance> mapForWrite() {
+        Multimap<StatGearKey, StatInstance> ret = map();
+        this.table = null;
+        return ret;
+    }
+
+    /**
+     * Gets the table used for lookups, building it if needed. The table is a snapshot and will not
+     * reflect later changes to this map.
+     *
+     * @return The modifier table
+     */
+    public StatModifierTable getTable() {
+        StatModifierTable ret = this.table;
+        if (ret == null) {
+            ret = StatModifierTable.of(map());
+            this.table = ret;
+        }
+        return ret;
+    }
 
     public static IFormattableTextComponent formatText(Collection<StatInstance> mods, ItemStat stat, int maxDecimalPlaces) {
         return formatText(mods, stat, maxDecimalPlaces, false);
@@ -51,39 +110,42 @@ public class StatModifierMap implements Multimap<StatGearKey, StatInstance> {
         return result;
     }
 
+    /**
+     * Gets all stats which have modifiers in this map.
+     *
+     * @return Unmodifiable set of stats, in {@link ItemStats#allStatsOrdered()} order
+     */
     public Set<ItemStat> getStats() {
-        Set<ItemStat> set = new HashSet<>();
-        for (StatGearKey key : this.keySet()) {
-            if (key.getStat() instanceof ItemStat) {
-                set.add((ItemStat) key.getStat());
-            }
-        }
-        return set;
+        return getTable().getStats();
     }
 
     @Override
     public int size() {
-        return this.map.size();
+        return map().size();
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        StatModifierTable tableCopy = this.table;
+        if (tableCopy != null && this.map == null) {
+            return tableCopy.isEmpty();
+        }
+        return map().isEmpty();
     }
 
     @Override
     public boolean containsKey(@Nullable Object key) {
-        return this.map.containsKey(key);
+        return map().containsKey(key);
     }
 
     @Override
     public boolean containsValue(@Nullable Object value) {
-        return this.map.containsValue(value);
+        return map().containsValue(value);
     }
 
     @Override
     public boolean containsEntry(@Nullable Object key, @Nullable Object value) {
-        return this.map.containsEntry(key, value);
+        return map().containsEntry(key, value);
     }
 
     public boolean put(IItemStat stat, GearType gearType, StatInstance value) {
@@ -92,53 +154,66 @@ public class StatModifierMap implements Multimap<StatGearKey, StatInstance> {
 
     @Override
     public boolean put(@Nullable StatGearKey key, @Nullable StatInstance value) {
-        return this.map.put(key, value);
+        return mapForWrite().put(key, value);
     }
 
     @Override
     public boolean remove(@Nullable Object key, @Nullable Object value) {
-        return this.map.remove(key, value);
+        return mapForWrite().remove(key, value);
     }
 
     @Override
     public boolean putAll(@Nullable StatGearKey key, @Nonnull Iterable<? extends StatInstance> values) {
-        return this.map.putAll(key, values);
+        return mapForWrite().putAll(key, values);
     }
 
     @Override
     public boolean putAll(@Nonnull Multimap<? extends StatGearKey, ? extends StatInstance> multimap) {
-        return this.map.putAll(multimap);
+        return mapForWrite().putAll(multimap);
     }
 
     @Override
     public Collection<StatInstance> replaceValues(@Nullable StatGearKey key, @Nonnull Iterable<? extends StatInstance> values) {
-        return this.map.replaceValues(key, values);
+        return mapForWrite().replaceValues(key, values);
     }
 
     @Override
     public Collection<StatInstance> removeAll(@Nullable Object key) {
-        return this.map.removeAll(key);
+        return mapForWrite().removeAll(key);
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        mapForWrite().clear();
     }
 
     public Collection<StatInstance> get(IItemStat stat, GearType gearType) {
         return get(StatGearKey.of(stat, gearType));
     }
 
+    /**
+     * Gets the modifiers for the key. If there are none, the modifiers for the closest parent key
+     * are returned instead.
+     *
+     * @param key The stat/gear type key
+     * @return Unmodifiable collection of modifiers
+     */
     @Override
     public Collection<StatInstance> get(@Nullable StatGearKey key) {
-        if (key == null || this.map.containsKey(key)) {
-            return this.map.get(key);
+        if (key != null && key.getStat() instanceof ItemStat) {
+            return getTable().get((ItemStat) key.getStat(), key.getGearType());
+        }
+
+        // Stats which are not registered can't be in the table
+        Multimap<StatGearKey, StatInstance> multimap = map();
+        if (key == null || multimap.containsKey(key)) {
+            return Collections.unmodifiableCollection(multimap.get(key));
         }
 
         StatGearKey parent = key.getParent();
         while (parent != null) {
-            if (this.map.containsKey(parent)) {
-                return this.map.get(parent);
+            if (multimap.containsKey(parent)) {
+                return Collections.unmodifiableCollection(multimap.get(parent));
             }
             parent = parent.getParent();
         }
@@ -147,13 +222,19 @@ public class StatModifierMap implements Multimap<StatGearKey, StatInstance> {
     }
 
     public StatGearKey getMostSpecificKey(StatGearKey key) {
-        if (this.map.containsKey(key)) {
+        if (key.getStat() instanceof ItemStat) {
+            StatModifierTable.Cell cell = getTable().getCell((ItemStat) key.getStat(), key.getGearType());
+            return cell != null ? cell.getKey() : StatGearKey.of(key.getStat(), GearType.ALL);
+        }
+
+        Multimap<StatGearKey, StatInstance> multimap = map();
+        if (multimap.containsKey(key)) {
             return key;
         }
 
         StatGearKey parent = key.getParent();
         while (parent != null) {
-            if (this.map.containsKey(parent)) {
+            if (multimap.containsKey(parent)) {
                 return parent;
             }
             parent = parent.getParent();
@@ -164,34 +245,35 @@ public class StatModifierMap implements Multimap<StatGearKey, StatInstance> {
 
     @Override
     public Set<StatGearKey> keySet() {
-        return this.map.keySet();
+        return Collections.unmodifiableSet(map().keySet());
     }
 
     @Override
     public Multiset<StatGearKey> keys() {
-        return this.map.keys();
+        return Multimaps.unmodifiableMultimap(map()).keys();
     }
 
     @Override
     public Collection<StatInstance> values() {
-        return this.map.values();
+        return Collections.unmodifiableCollection(map().values());
     }
 
     @Override
     public Collection<Entry<StatGearKey, StatInstance>> entries() {
-        return this.map.entries();
+        return Multimaps.unmodifiableMultimap(map()).entries();
     }
 
     @Override
     public Map<StatGearKey, Collection<StatInstance>> asMap() {
-        return this.map.asMap();
+        return Multimaps.unmodifiableMultimap(map()).asMap();
     }
 
     public JsonObject serialize() {
         JsonObject json = new JsonObject();
+        Multimap<StatGearKey, StatInstance> multimap = map();
 
-        for (StatGearKey key : this.keySet()) {
-            Collection<StatInstance> mods = this.get(key);
+        for (StatGearKey key : multimap.keySet()) {
+            Collection<StatInstance> mods = multimap.get(key);
 
             if (mods.size() > 1) {
                 JsonArray array = new JsonArray();
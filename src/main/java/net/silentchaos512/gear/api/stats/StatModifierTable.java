@@ -0,0 +1,315 @@
+package net.silentchaos512.gear.api.stats;
+
+import com.google.common.collect.Multimap;
+import com.google.common.collect.MultimapBuilder;
+import net.silentchaos512.gear.api.item.GearType;
+import net.silentchaos512.gear.api.util.StatGearKey;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * A dense, read-only table of stat modifiers. Rows are indexed by {@link ItemStat#getIndex()} and
+ * columns by {@link GearType#getIndex()}. Parent gear type fallback is resolved when the table is
+ * built, so looking up the modifiers for a key is just two array loads.
+ * <p>
+ * Modifier values and operations are stored in arrays, in the order they were added.
+ * {@link StatInstance} objects are only created if something asks for them. Only keys of
+ * registered {@link ItemStat}s can be stored, {@link StatModifierMap} handles everything else.
+ *
+ * @since 2.6.28
+ */
+public final class StatModifierTable {
+    public static final StatModifierTable EMPTY = new StatModifierTable(new Cell[0][], 0, Collections.emptyList(), Collections.emptySet());
+
+    // [stat index][gear type index], rows are null for stats with no modifiers
+    private final Cell[][] rows;
+    private final int typeCount;
+    private final List<Cell> cells;
+    private final Set<ItemStat> stats;
+
+    private StatModifierTable(Cell[][] rows, int typeCount, List<Cell> cells, Set<ItemStat> stats) {
+        this.rows = rows;
+        this.typeCount = typeCount;
+        this.cells = cells;
+        this.stats = stats;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builds a table from the modifiers in the multimap. Keys of stats which are not {@link
+     * ItemStat}s are skipped.
+     *
+     * @param map The modifiers
+     * @return A new table
+     */
+    public static StatModifierTable of(Multimap<StatGearKey, StatInstance> map) {
+        Builder builder = builder();
+        map.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Gets the stats that have at least one modifier, in {@link ItemStats#allStatsOrdered()} order.
+     *
+     * @return Unmodifiable set of stats
+     */
+    public Set<ItemStat> getStats() {
+        return stats;
+    }
+
+    public boolean isEmpty() {
+        return cells.isEmpty();
+    }
+
+    /**
+     * Gets the cells for the keys which were added to the table, in the order they were first
+     * added. Cells used only through parent fallback are not repeated.
+     *
+     * @return Unmodifiable list of cells
+     */
+    public List<Cell> getCells() {
+        return cells;
+    }
+
+    /**
+     * Gets the modifiers for the stat and gear type. If there are no modifiers for the gear type
+     * itself, the modifiers of the closest parent type are returned.
+     *
+     * @param stat     The stat
+     * @param gearType The gear type
+     * @return The cell containing the modifiers, or null if there are none
+     */
+    @Nullable
+    public Cell getCell(ItemStat stat, GearType gearType) {
+        int statIndex = stat.getIndex();
+        if (statIndex >= rows.length) {
+            return null;
+        }
+
+        Cell[] row = rows[statIndex];
+        if (row == null) {
+            return null;
+        }
+
+        // Gear types created after the table was built have no modifiers of their own
+        GearType type = gearType;
+        while (type != null && type.getIndex() >= typeCount) {
+            type = type.getParent();
+        }
+        return type != null ? row[type.getIndex()] : null;
+    }
+
+    public List<StatInstance> get(ItemStat stat, GearType gearType) {
+        Cell cell = getCell(stat, gearType);
+        return cell != null ? cell.getModifiers() : Collections.emptyList();
+    }
+
+    Multimap<StatGearKey, StatInstance> toMultimap() {
+        Multimap<StatGearKey, StatInstance> map = MultimapBuilder.linkedHashKeys().arrayListValues().build();
+        for (Cell cell : cells) {
+            map.putAll(cell.key, cell.getModifiers());
+        }
+        return map;
+    }
+
+    /**
+     * Modifiers for a single key
+     */
+    public static final class Cell {
+        private final StatGearKey key;
+        private final ModifierList modifiers;
+
+        private Cell(StatGearKey key, float[] values, StatInstance.Operation[] ops, StatInstance[] instances) {
+            this.key = key;
+            this.modifiers = new ModifierList(key, values, ops, instances);
+        }
+
+        public StatGearKey getKey() {
+            return key;
+        }
+
+        public int size() {
+            return modifiers.size;
+        }
+
+        public float getValue(int index) {
+            return modifiers.values[index];
+        }
+
+        public StatInstance.Operation getOp(int index) {
+            return modifiers.ops[index];
+        }
+
+        /**
+         * Gets the modifiers as {@link StatInstance}s. Instances that were added to the builder are
+         * returned as-is, others are created when first accessed. {@link ItemStat#compute} reads
+         * the values of the list directly, without creating any instances.
+         *
+         * @return Unmodifiable list of modifiers
+         */
+        public List<StatInstance> getModifiers() {
+            return modifiers;
+        }
+    }
+
+    /**
+     * Read-only list view of the modifiers of a {@link Cell}
+     */
+    static final class ModifierList extends AbstractList<StatInstance> implements RandomAccess {
+        private final StatGearKey key;
+        final float[] values;
+        final StatInstance.Operation[] ops;
+        final int size;
+        private final StatInstance[] instances;
+
+        private ModifierList(StatGearKey key, float[] values, StatInstance.Operation[] ops, StatInstance[] instances) {
+            this.key = key;
+            this.values = values;
+            this.ops = ops;
+            this.size = values.length;
+            this.instances = instances;
+        }
+
+        @Override
+        public StatInstance get(int index) {
+            StatInstance ret = instances[index];
+            if (ret == null) {
+                ret = StatInstance.of(values[index], ops[index], key);
+                instances[index] = ret;
+            }
+            return ret;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    public static final class Builder {
+        // [stat index][gear type index]
+        private CellBuilder[][] rows = new CellBuilder[0][];
+        private final List<CellBuilder> cells = new ArrayList<>();
+
+        private Builder() {}
+
+        public Builder add(ItemStat stat, GearType gearType, float value, StatInstance.Operation op) {
+            getCellBuilder(stat, gearType, null).add(value, op, null);
+            return this;
+        }
+
+        public Builder add(StatGearKey key, StatInstance mod) {
+            if (key.getStat() instanceof ItemStat) {
+                getCellBuilder((ItemStat) key.getStat(), key.getGearType(), key).add(mod.getValue(), mod.getOp(), mod);
+            }
+            return this;
+        }
+
+        /**
+         * Adds all modifiers of another table, keeping their order.
+         *
+         * @param table The table to copy modifiers from
+         * @return This builder
+         */
+        public Builder addAll(StatModifierTable table) {
+            for (Cell cell : table.cells) {
+                StatGearKey key = cell.key;
+                CellBuilder cellBuilder = getCellBuilder((ItemStat) key.getStat(), key.getGearType(), key);
+                for (int i = 0; i < cell.size(); ++i) {
+                    cellBuilder.add(cell.modifiers.values[i], cell.modifiers.ops[i], cell.modifiers.instances[i]);
+                }
+            }
+            return this;
+        }
+
+        private CellBuilder getCellBuilder(ItemStat stat, GearType gearType, @Nullable StatGearKey key) {
+            int statIndex = stat.getIndex();
+            if (statIndex >= rows.length) {
+                rows = Arrays.copyOf(rows, ItemStats.getStatCount());
+            }
+
+            CellBuilder[] row = rows[statIndex];
+            if (row == null || gearType.getIndex() >= row.length) {
+                row = row == null ? new CellBuilder[GearType.getTypeCount()] : Arrays.copyOf(row, GearType.getTypeCount());
+                rows[statIndex] = row;
+            }
+
+            CellBuilder cell = row[gearType.getIndex()];
+            if (cell == null) {
+                cell = new CellBuilder(key != null ? key : StatGearKey.of(stat, gearType));
+                row[gearType.getIndex()] = cell;
+                cells.add(cell);
+            }
+            return cell;
+        }
+
+        public StatModifierTable build() {
+            final int typeCount = GearType.getTypeCount();
+            Cell[][] builtRows = new Cell[rows.length][];
+            Set<ItemStat> stats = new LinkedHashSet<>();
+            List<Cell> builtCells = new ArrayList<>(cells.size());
+            Map<CellBuilder, Cell> built = new IdentityHashMap<>();
+
+            for (CellBuilder cellBuilder : cells) {
+                Cell cell = cellBuilder.build();
+                built.put(cellBuilder, cell);
+                builtCells.add(cell);
+            }
+
+            for (ItemStat stat : ItemStats.allStatsOrdered()) {
+                int statIndex = stat.getIndex();
+                if (statIndex >= rows.length || rows[statIndex] == null) continue;
+
+                CellBuilder[] row = rows[statIndex];
+                Cell[] builtRow = new Cell[typeCount];
+
+                // Resolve parent fallback now, so lookups do not need to walk the hierarchy
+                for (int i = 0; i < typeCount; ++i) {
+                    for (GearType type = GearType.byIndex(i); type != null; type = type.getParent()) {
+                        if (type.getIndex() < row.length && row[type.getIndex()] != null) {
+                            builtRow[i] = built.get(row[type.getIndex()]);
+                            break;
+                        }
+                    }
+                }
+
+                builtRows[statIndex] = builtRow;
+                stats.add(stat);
+            }
+
+            return new StatModifierTable(builtRows, typeCount, Collections.unmodifiableList(builtCells), Collections.unmodifiableSet(stats));
+        }
+    }
+
+    private static final class CellBuilder {
+        private final StatGearKey key;
+        private float[] values = new float[4];
+        private StatInstance.Operation[] ops = new StatInstance.Operation[4];
+        private StatInstance[] instances = new StatInstance[4];
+        private int size;
+
+        private CellBuilder(StatGearKey key) {
+            this.key = key;
+        }
+
+        private void add(float value, StatInstance.Operation op, @Nullable StatInstance instance) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                ops = Arrays.copyOf(ops, size * 2);
+                instances = Arrays.copyOf(instances, size * 2);
+            }
+            values[size] = value;
+            ops[size] = op;
+            instances[size] = instance;
+            ++size;
+        }
+
+        private Cell build() {
+            return new Cell(key, Arrays.copyOf(values, size), Arrays.copyOf(ops, size), Arrays.copyOf(instances, size));
+        }
+    }
+}
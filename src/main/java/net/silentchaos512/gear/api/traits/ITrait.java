@@ -118,8 +118,23 @@ public interface ITrait {
 
     void onGearCrafted(TraitActionContext context);
 
+    /**
+     * Called every time a recalculation of the gear's stats is requested, before checking whether
+     * anything which affects stats has changed.
+     *
+     * @param context The context, with the player who has the item (may be null)
+     */
     void onRecalculatePre(TraitActionContext context);
 
+    /**
+     * Called after the gear's stats are recalculated. Since 2.6.28, this is only called if
+     * something which affects stats changed since the last recalculation: construction parts,
+     * damage level, stat lock, enchantments, or loaded data. The player who has the item is not
+     * part of that, so traits which depend on the player should use {@link
+     * #onRecalculatePre(TraitActionContext)} instead.
+     *
+     * @param context The context, with the player who has the item (may be null)
+     */
     void onRecalculatePost(TraitActionContext context);
 
     float onGetStat(TraitActionContext context, ItemStat stat, float value, float damageRatio);
@@ -145,6 +160,30 @@ public interface ITrait {
 
     void onUpdate(TraitActionContext context, boolean isEquipped);
 
+    /**
+     * Gets the number of ticks between calls to {@link #onUpdate(TraitActionContext, boolean)}.
+     * Gear only calls onUpdate on ticks where {@code (ticks - phase) % period == 0}. Ticks are
+     * counted with the holding player's {@code ticksExisted}, or the world time if the item is not
+     * held by a player.
+     *
+     * @return The update period in ticks, at least 1
+     * @since 2.6.28
+     */
+    default int getUpdatePeriod() {
+        return 1;
+    }
+
+    /**
+     * Gets the offset of the ticks {@link #onUpdate(TraitActionContext, boolean)} is called on.
+     * See {@link #getUpdatePeriod()}.
+     *
+     * @return The update phase in ticks
+     * @since 2.6.28
+     */
+    default int getUpdatePhase() {
+        return 0;
+    }
+
     ItemStack addLootDrops(TraitActionContext context, ItemStack stack);
 
     default CompoundNBT write(int level) {
@@ -15,5 +15,19 @@ public interface ITraitCondition {
 
     boolean matches(ITrait trait, PartGearKey key, ItemStack gear, List<? extends IGearComponentInstance<?>> components);
 
+    /**
+     * Same as {@link #matches(ITrait, PartGearKey, ItemStack, List)}, but can use what the context
+     * already knows about the components. Conditions which check the traits of components, or
+     * other conditions, should override this.
+     *
+     * @param trait   The trait
+     * @param context The components being checked
+     * @return True if the condition matches
+     * @since 2.6.28
+     */
+    default boolean matches(ITrait trait, TraitConditionContext context) {
+        return matches(trait, context.getKey(), context.getGear(), context.getComponents());
+    }
+
     IFormattableTextComponent getDisplayText();
 }
@@ -26,11 +26,23 @@ public interface ITraitInstance {
     Collection<ITraitCondition> getConditions();
 
     default boolean conditionsMatch(PartGearKey key, ItemStack gear, List<? extends IGearComponentInstance<?>> components) {
+        return conditionsMatch(TraitConditionContext.of(key, gear, components));
+    }
+
+    /**
+     * Checks the conditions against the components of the context. When checking the traits of
+     * several components of the same list, use a single context for all of them.
+     *
+     * @param context The components being checked
+     * @return True if all conditions match
+     * @since 2.6.28
+     */
+    default boolean conditionsMatch(TraitConditionContext context) {
         ITrait trait = getTrait();
         if (trait == null) return true;
 
         for (ITraitCondition condition : getConditions()) {
-            if (!condition.matches(trait, key, gear, components)) {
+            if (!context.matches(condition, trait)) {
                 return false;
             }
         }
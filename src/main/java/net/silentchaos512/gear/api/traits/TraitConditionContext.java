@@ -0,0 +1,129 @@
+package net.silentchaos512.gear.api.traits;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.item.ItemStack;
+import net.silentchaos512.gear.api.util.IGearComponentInstance;
+import net.silentchaos512.gear.api.util.PartGearKey;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Holds what trait conditions need to know about one list of components (the parts of a gear
+ * item, or the materials of a part), so it only needs to be computed once for the list. The traits
+ * of each component are read on first access, and the number of components with each trait is
+ * counted once. Condition results are also memoized per condition and trait.
+ * <p>
+ * A context is only valid for one list of components with one key and gear item, and is not
+ * thread-safe. Do not keep references to it after checking conditions.
+ *
+ * @since 2.6.28
+ */
+public final class TraitConditionContext {
+    private final PartGearKey key;
+    private final ItemStack gear;
+    private final List<? extends IGearComponentInstance<?>> components;
+    private final Collection<?>[] componentTraits;
+    @Nullable private Reference2IntMap<ITrait> componentCounts;
+    private final Reference2ObjectMap<ITraitCondition, Reference2ObjectMap<ITrait, Boolean>> results = new Reference2ObjectOpenHashMap<>();
+
+    private TraitConditionContext(PartGearKey key, ItemStack gear, List<? extends IGearComponentInstance<?>> components) {
+        this.key = key;
+        this.gear = gear;
+        this.components = components;
+        this.componentTraits = new Collection<?>[components.size()];
+    }
+
+    public static TraitConditionContext of(PartGearKey key, ItemStack gear, List<? extends IGearComponentInstance<?>> components) {
+        return new TraitConditionContext(key, gear, components);
+    }
+
+    public PartGearKey getKey() {
+        return key;
+    }
+
+    public ItemStack getGear() {
+        return gear;
+    }
+
+    public List<? extends IGearComponentInstance<?>> getComponents() {
+        return components;
+    }
+
+    /**
+     * Gets the traits of the component at the index, reading them on the first call.
+     *
+     * @param index The component index
+     * @return The component's traits. Do not modify the returned collection.
+     */
+    @SuppressWarnings("unchecked")
+    public Collection<TraitInstance> getTraits(int index) {
+        if (componentTraits[index] == null) {
+            componentTraits[index] = components.get(index).getTraits(key, gear);
+        }
+        return (Collection<TraitInstance>) componentTraits[index];
+    }
+
+    /**
+     * Gets the number of components which have the trait, at any level.
+     *
+     * @param trait The trait
+     * @return The number of components with the trait
+     */
+    public int getComponentCount(ITrait trait) {
+        if (componentCounts == null) {
+            componentCounts = new Reference2IntOpenHashMap<>();
+            for (int i = 0; i < components.size(); ++i) {
+                Set<ITrait> seen = new ReferenceOpenHashSet<>();
+                for (TraitInstance inst : getTraits(i)) {
+                    ITrait t = inst.getTrait();
+                    // Count each component only once per trait
+                    if (t != null && seen.add(t)) {
+                        componentCounts.put(t, componentCounts.getInt(t) + 1);
+                    }
+                }
+            }
+        }
+        return componentCounts.getInt(trait);
+    }
+
+    /**
+     * Checks if the first (primary) component has the trait.
+     *
+     * @param trait The trait
+     * @return True if the primary component has the trait
+     */
+    public boolean isOnPrimaryComponent(ITrait trait) {
+        if (!components.isEmpty()) {
+            for (TraitInstance inst : getTraits(0)) {
+                if (inst.getTrait() == trait) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the condition for the trait, or gets the result of an earlier check.
+     *
+     * @param condition The condition
+     * @param trait     The trait
+     * @return True if the condition matches
+     */
+    public boolean matches(ITraitCondition condition, ITrait trait) {
+        Reference2ObjectMap<ITrait, Boolean> map = results.computeIfAbsent(condition, c -> new Reference2ObjectOpenHashMap<>());
+        Boolean result = map.get(trait);
+        if (result == null) {
+            result = condition.matches(trait, this);
+            map.put(trait, result);
+        }
+        return result;
+    }
+}
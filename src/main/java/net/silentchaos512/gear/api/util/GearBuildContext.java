@@ -0,0 +1,89 @@
+package net.silentchaos512.gear.api.util;
+
+import net.minecraft.item.ItemStack;
+import net.silentchaos512.gear.api.material.MaterialList;
+import net.silentchaos512.gear.api.part.IPartData;
+import net.silentchaos512.gear.api.part.PartDataList;
+import net.silentchaos512.gear.api.traits.TraitInstance;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Holds data decoded while building (recalculating) a single gear item, so that it only needs to
+ * be decoded once. Material lists of compound parts are read from NBT on first access, and traits
+ * of each part are computed once per {@link PartGearKey}.
+ * <p>
+ * A context is only valid for one build of one item and is not thread-safe. Do not keep references
+ * to it after the build is complete.
+ *
+ * @since 2.6.28
+ */
+public final class GearBuildContext {
+    private final ItemStack gear;
+    private final PartDataList parts;
+    private final Map<IPartData, MaterialList> materials = new IdentityHashMap<>();
+    private final Map<IPartData, Map<PartGearKey, Collection<TraitInstance>>> partTraits = new IdentityHashMap<>();
+
+    private GearBuildContext(ItemStack gear, PartDataList parts) {
+        this.gear = gear;
+        this.parts = parts;
+    }
+
+    /**
+     * Creates a context for building a gear item.
+     *
+     * @param gear  The gear item
+     * @param parts The construction parts of the gear item
+     * @return A new build context
+     */
+    public static GearBuildContext of(ItemStack gear, PartDataList parts) {
+        return new GearBuildContext(gear, parts);
+    }
+
+    /**
+     * Creates a context which is not tied to any gear item. Used by the methods which do not take a
+     * context, so that a single call still benefits from decoding materials only once.
+     *
+     * @return A new build context
+     */
+    public static GearBuildContext create() {
+        return new GearBuildContext(ItemStack.EMPTY, PartDataList.empty());
+    }
+
+    public ItemStack getGear() {
+        return gear;
+    }
+
+    public PartDataList getParts() {
+        return parts;
+    }
+
+    /**
+     * Gets the materials of the part, decoding them on the first call.
+     *
+     * @param part The part
+     * @return The part's materials. Do not modify the returned list.
+     */
+    public MaterialList getMaterials(IPartData part) {
+        return materials.computeIfAbsent(part, IPartData::getMaterials);
+    }
+
+    /**
+     * Gets the traits of the part for the given key, computing them on the first call.
+     *
+     * @param part     The part
+     * @param key      The part/gear type key
+     * @param function Computes the traits if they are not known yet
+     * @return The part's traits
+     */
+    public Collection<TraitInstance> getTraits(IPartData part, PartGearKey key, Supplier<Collection<TraitInstance>> function) {
+        Map<PartGearKey, Collection<TraitInstance>> map = partTraits.computeIfAbsent(part, p -> new HashMap<>());
+        Collection<TraitInstance> traits = map.get(key);
+        if (traits == null) {
+            traits = Collections.unmodifiableCollection(function.get());
+            map.put(key, traits);
+        }
+        return traits;
+    }
+}
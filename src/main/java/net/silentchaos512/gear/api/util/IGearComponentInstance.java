@@ -36,6 +36,10 @@ public interface IGearComponentInstance<T extends IGearComponent<?>> {
         return getStatModifiers(partType, key, ItemStack.EMPTY);
     }
 
+    default Collection<StatInstance> getStatModifiers(PartType partType, StatGearKey key, ItemStack gear, GearBuildContext context) {
+        return getStatModifiers(partType, key, gear);
+    }
+
     Collection<TraitInstance> getTraits(PartType partType, GearType gearType, ItemStack gear);
 
     // TODO: Make this version the non-default
@@ -43,6 +47,10 @@ public interface IGearComponentInstance<T extends IGearComponent<?>> {
         return getTraits(key.getPartType(), key.getGearType(), gear);
     }
 
+    default Collection<TraitInstance> getTraits(PartGearKey key, ItemStack gear, GearBuildContext context) {
+        return getTraits(key, gear);
+    }
+
     default Collection<TraitInstance> getTraits(PartType partType) {
         return getTraits(partType, GearType.ALL, ItemStack.EMPTY);
     }
@@ -21,6 +21,21 @@ public interface IStatModProvider<D> {
         return getStatModifiers(instance, partType, key, ItemStack.EMPTY);
     }
 
+    /**
+     * Gets stat modifiers, reusing data already decoded in the build context. Implementations that
+     * decode NBT (such as compound parts) should override this.
+     *
+     * @param instance The object (part, material)
+     * @param partType The part type
+     * @param key      The stat and gear type
+     * @param gear     The gear item
+     * @param context  The context of the current gear build
+     * @return Stat modifiers for the key
+     */
+    default Collection<StatInstance> getStatModifiers(D instance, PartType partType, StatGearKey key, ItemStack gear, GearBuildContext context) {
+        return getStatModifiers(instance, partType, key, gear);
+    }
+
     default float getStat(D instance, PartType partType, StatGearKey key, ItemStack gear) {
         ItemStat stat = ItemStats.get(key.getStat());
         if (stat == null) return key.getStat().getDefaultValue();
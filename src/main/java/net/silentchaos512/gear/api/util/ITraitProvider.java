@@ -7,4 +7,8 @@ import java.util.Collection;
 
 public interface ITraitProvider<D> {
     Collection<TraitInstance> getTraits(D instance, PartGearKey partKey, ItemStack gear);
+
+    default Collection<TraitInstance> getTraits(D instance, PartGearKey partKey, ItemStack gear, GearBuildContext context) {
+        return getTraits(instance, partKey, gear);
+    }
 }
@@ -3,6 +3,7 @@ package net.silentchaos512.gear.api.util;
 import com.google.gson.JsonParseException;
 import com.mojang.datafixers.util.Pair;
 import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.ResourceLocation;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.item.GearType;
 import net.silentchaos512.gear.api.stats.IItemStat;
@@ -10,14 +11,21 @@ import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.ItemStats;
 
 import javax.annotation.Nullable;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class StatGearKey {
-    private static final Map<Pair<IItemStat, GearType>, StatGearKey> CACHE = new HashMap<>();
+    // Keys of ItemStats, indexed by [stat index][gear type index]. Replaced (never modified) when a
+    // new key is interned, so lookups can read it without locking.
+    private static volatile StatGearKey[][] table = new StatGearKey[0][];
+    // Keys of stats which are not ItemStats, and so have no index
+    private static final Map<Pair<IItemStat, GearType>, StatGearKey> OTHER_KEYS = new ConcurrentHashMap<>();
+    // Keys which have been parsed from strings, only valid keys are added
+    private static final Map<String, StatGearKey> READ_CACHE = new ConcurrentHashMap<>();
 
     private final String key;
+    private final int hash;
     private final IItemStat stat;
     private final GearType gearType;
 
@@ -30,13 +38,50 @@ public final class StatGearKey {
         } else {
             this.key = SilentGear.shortenId(stat.getStatId());
         }
+        this.hash = this.key.hashCode();
     }
 
     public static StatGearKey of(IItemStat stat, GearType gearType) {
-        return CACHE.computeIfAbsent(Pair.of(stat, gearType), pair ->
+        if (stat instanceof ItemStat) {
+            int statIndex = ((ItemStat) stat).getIndex();
+            int typeIndex = gearType.getIndex();
+            StatGearKey[][] keys = table;
+
+            if (statIndex < keys.length) {
+                StatGearKey[] row = keys[statIndex];
+                if (row != null && typeIndex < row.length && row[typeIndex] != null) {
+                    return row[typeIndex];
+                }
+            }
+            return intern((ItemStat) stat, gearType);
+        }
+
+        return OTHER_KEYS.computeIfAbsent(Pair.of(stat, gearType), pair ->
                 new StatGearKey(pair.getFirst(), pair.getSecond()));
     }
 
+    private static synchronized StatGearKey intern(ItemStat stat, GearType gearType) {
+        int statIndex = stat.getIndex();
+        int typeIndex = gearType.getIndex();
+        StatGearKey[][] keys = table;
+
+        // Another thread may have added the key while we waited for the lock
+        StatGearKey[] row = statIndex < keys.length ? keys[statIndex] : null;
+        if (row != null && typeIndex < row.length && row[typeIndex] != null) {
+            return row[typeIndex];
+        }
+
+        StatGearKey ret = new StatGearKey(stat, gearType);
+        StatGearKey[] newRow = row != null
+                ? Arrays.copyOf(row, Math.max(row.length, GearType.getTypeCount()))
+                : new StatGearKey[GearType.getTypeCount()];
+        newRow[typeIndex] = ret;
+        StatGearKey[][] newKeys = Arrays.copyOf(keys, Math.max(keys.length, ItemStats.getStatCount()));
+        newKeys[statIndex] = newRow;
+        table = newKeys;
+        return ret;
+    }
+
     @Nullable
     public StatGearKey getParent() {
         GearType parent = this.gearType.getParent();
@@ -56,27 +101,37 @@ public final class StatGearKey {
 
     @Nullable
     public static StatGearKey read(String key) {
-        String[] parts = key.split("/");
-        if (parts.length > 2) {
+        StatGearKey cached = READ_CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int slash = key.indexOf('/');
+        if (slash != -1 && key.indexOf('/', slash + 1) != -1) {
             throw new JsonParseException("invalid key: " + key);
         }
 
-        ItemStat stat = ItemStats.REGISTRY.get().getValue(SilentGear.getIdWithDefaultNamespace(parts[0]));
+        String statName = slash != -1 ? key.substring(0, slash) : key;
+        ResourceLocation statId = SilentGear.getIdWithDefaultNamespace(statName);
+        ItemStat stat = statId != null ? ItemStats.REGISTRY.get().getValue(statId) : null;
         if (stat == null) {
             return null;
         }
 
         GearType gearType;
-        if (parts.length > 1) {
-            gearType = GearType.get(parts[1]);
+        if (slash != -1) {
+            String typeName = key.substring(slash + 1);
+            gearType = GearType.get(typeName);
             if (gearType.isInvalid()) {
-                throw new JsonParseException("Unknown gear type: " + parts[1]);
+                throw new JsonParseException("Unknown gear type: " + typeName);
             }
         } else {
             gearType = GearType.ALL;
         }
 
-        return new StatGearKey(stat, gearType);
+        StatGearKey ret = of(stat, gearType);
+        READ_CACHE.put(key, ret);
+        return ret;
     }
 
     @Nullable
@@ -98,11 +153,11 @@ public final class StatGearKey {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         StatGearKey that = (StatGearKey) o;
-        return Objects.equals(key, that.key);
+        return hash == that.hash && key.equals(that.key);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(key);
+        return hash;
     }
 }
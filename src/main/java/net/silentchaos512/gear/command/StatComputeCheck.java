@@ -0,0 +1,253 @@
+package net.silentchaos512.gear.command;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.MathHelper;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.api.item.GearType;
+import net.silentchaos512.gear.api.material.IMaterial;
+import net.silentchaos512.gear.api.part.PartType;
+import net.silentchaos512.gear.api.stats.ItemStat;
+import net.silentchaos512.gear.api.stats.ItemStats;
+import net.silentchaos512.gear.api.stats.StatInstance;
+import net.silentchaos512.gear.api.stats.StatInstance.Operation;
+import net.silentchaos512.gear.api.stats.StatModifierTable;
+import net.silentchaos512.gear.api.util.StatGearKey;
+import net.silentchaos512.gear.gear.material.MaterialInstance;
+import net.silentchaos512.gear.gear.material.MaterialManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Dev-only differential check of {@link ItemStat#compute}. Compares the current implementation
+ * against a copy of the original one, which used {@link Math#pow} for every modifier weight and
+ * one pass over the modifiers per operation. Results must be bit-identical.
+ * <p>
+ * Modifier lists are built from the stat modifiers of every loaded simple material, for every
+ * stat and part type: each material alone, every ordered pair, and all materials together (which
+ * covers more modifiers than the precomputed weight tables). Each list is also checked with its
+ * operations replaced, so every mix of operations is covered.
+ */
+final class StatComputeCheck {
+    private static final float WEIGHT_BASE_MIN = 2f;
+    private static final float WEIGHT_BASE_MAX = 40f;
+    private static final float WEIGHT_DEVIATION_COEFF = 2f;
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final int MAX_LOGGED_MISMATCHES = 20;
+
+    private int checked;
+    private int mismatches;
+
+    private StatComputeCheck() {}
+
+    /**
+     * Runs the check on all loaded materials. Mismatches are logged.
+     *
+     * @return The number of checked cases, and the number of mismatches
+     */
+    static int[] run() {
+        StatComputeCheck check = new StatComputeCheck();
+        for (ItemStat stat : ItemStats.allStatsOrdered()) {
+            for (PartType partType : PartType.getValues()) {
+                if (partType != PartType.NONE) {
+                    check.checkStat(stat, partType);
+                }
+            }
+        }
+        return new int[]{check.checked, check.mismatches};
+    }
+
+    private void checkStat(ItemStat stat, PartType partType) {
+        StatGearKey key = StatGearKey.of(stat, GearType.ALL);
+        List<List<StatInstance>> perMaterial = new ArrayList<>();
+        for (IMaterial material : MaterialManager.getValues()) {
+            MaterialInstance instance = MaterialInstance.of(material);
+            if (material.isSimple() && material.allowedInPart(instance, partType)) {
+                Collection<StatInstance> mods = instance.getStatModifiers(partType, key, ItemStack.EMPTY);
+                if (!mods.isEmpty()) {
+                    perMaterial.add(new ArrayList<>(mods));
+                }
+            }
+        }
+        if (perMaterial.isEmpty()) {
+            return;
+        }
+
+        List<StatInstance> all = new ArrayList<>();
+        List<StatInstance> allReversed = new ArrayList<>();
+        for (List<StatInstance> mods : perMaterial) {
+            all.addAll(mods);
+            allReversed.addAll(0, mods);
+            checkAllMixes(stat, mods);
+        }
+        checkAllMixes(stat, all);
+        checkAllMixes(stat, allReversed);
+
+        for (int i = 0; i < perMaterial.size(); ++i) {
+            for (int j = 0; j < perMaterial.size(); ++j) {
+                if (i != j) {
+                    List<StatInstance> pair = new ArrayList<>(perMaterial.get(i));
+                    pair.addAll(perMaterial.get(j));
+                    checkRotatedMixes(stat, toValues(pair), toOps(pair), 0f, false);
+                }
+            }
+        }
+    }
+
+    private void checkAllMixes(ItemStat stat, List<StatInstance> mods) {
+        float[] values = toValues(mods);
+        Operation[] ops = toOps(mods);
+        float[] baseValues = {0f, stat.getBaseValue()};
+        for (float baseValue : baseValues) {
+            for (boolean clamp : new boolean[]{false, true}) {
+                checkRotatedMixes(stat, values, ops, baseValue, clamp);
+                // Every modifier with the same operation
+                for (Operation op : OPERATIONS) {
+                    Operation[] uniform = new Operation[values.length];
+                    Arrays.fill(uniform, op);
+                    check(stat, baseValue, clamp, values, uniform);
+                }
+            }
+        }
+    }
+
+    private void checkRotatedMixes(ItemStat stat, float[] values, Operation[] ops, float baseValue, boolean clamp) {
+        check(stat, baseValue, clamp, values, ops);
+        // Operations assigned in rotation, so each list contains several of them
+        for (int shift = 0; shift < OPERATIONS.length; ++shift) {
+            Operation[] mixed = new Operation[values.length];
+            for (int i = 0; i < mixed.length; ++i) {
+                mixed[i] = OPERATIONS[(i + shift) % OPERATIONS.length];
+            }
+            check(stat, baseValue, clamp, values, mixed);
+        }
+    }
+
+    private void check(ItemStat stat, float baseValue, boolean clamp, float[] values, Operation[] ops) {
+        List<StatInstance> mods = new ArrayList<>(values.length);
+        StatModifierTable.Builder builder = StatModifierTable.builder();
+        for (int i = 0; i < values.length; ++i) {
+            mods.add(StatInstance.of(values[i], ops[i]));
+            builder.add(stat, GearType.ALL, values[i], ops[i]);
+        }
+
+        float expected = referenceCompute(stat, baseValue, clamp, mods);
+        compare(stat, "arrays", mods, expected, stat.compute(baseValue, clamp, values, ops, values.length));
+        // Subclasses adjust the result of the collection overloads, only the kernel is comparable
+        if (stat.getClass() == ItemStat.class) {
+            compare(stat, "list", mods, expected, stat.compute(baseValue, clamp, GearType.ALL, GearType.ALL, mods));
+            compare(stat, "table", mods, expected, stat.compute(baseValue, clamp, GearType.ALL, GearType.ALL, builder.build().get(stat, GearType.ALL)));
+        }
+        for (Operation op : OPERATIONS) {
+            compare(stat, "weighted average " + op, mods, referenceWeightedAverage(mods, op), ItemStat.getWeightedAverage(mods, op));
+        }
+    }
+
+    private void compare(ItemStat stat, String path, List<StatInstance> mods, float expected, float actual) {
+        ++checked;
+        if (Float.floatToIntBits(expected) != Float.floatToIntBits(actual)) {
+            if (++mismatches <= MAX_LOGGED_MISMATCHES) {
+                SilentGear.LOGGER.error("Stat compute mismatch ({}) for {}: expected {}, got {}, modifiers {}",
+                        path, stat.getStatId(), expected, actual, describe(mods));
+            }
+        }
+    }
+
+    private static String describe(List<StatInstance> mods) {
+        StringBuilder builder = new StringBuilder("[");
+        for (StatInstance mod : mods) {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(mod.getOp()).append(' ').append(mod.getValue());
+        }
+        return builder.append(']').toString();
+    }
+
+    private static float[] toValues(List<StatInstance> mods) {
+        float[] values = new float[mods.size()];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = mods.get(i).getValue();
+        }
+        return values;
+    }
+
+    private static Operation[] toOps(List<StatInstance> mods) {
+        Operation[] ops = new Operation[mods.size()];
+        for (int i = 0; i < ops.length; ++i) {
+            ops[i] = mods.get(i).getOp();
+        }
+        return ops;
+    }
+
+    // Original implementation of ItemStat#compute, do not change
+
+    private static float referenceCompute(ItemStat stat, float baseValue, boolean clampValue, Collection<StatInstance> modifiers) {
+        if (modifiers.isEmpty())
+            return baseValue;
+
+        float f0 = baseValue;
+
+        // Average (weighted, used for mains)
+        f0 += referenceWeightedAverage(modifiers, Operation.AVG);
+
+        // Maximum
+        for (StatInstance mod : modifiers)
+            if (mod.getOp() == Operation.MAX)
+                f0 = Math.max(f0, mod.getValue());
+
+        // Multiplicative
+        float f1 = f0;
+        for (StatInstance mod : modifiers)
+            if (mod.getOp() == Operation.MUL1)
+                f1 += f0 * mod.getValue();
+
+        // Multiplicative2
+        for (StatInstance mod : modifiers)
+            if (mod.getOp() == Operation.MUL2)
+                f1 *= 1.0f + mod.getValue();
+
+        // Additive
+        for (StatInstance mod : modifiers)
+            if (mod.getOp() == Operation.ADD)
+                f1 += mod.getValue();
+
+        return clampValue ? stat.clampValue(f1) : f1;
+    }
+
+    private static float referencePrimaryMod(Iterable<StatInstance> modifiers, Operation op) {
+        float primaryMod = -1f;
+        for (StatInstance mod : modifiers) {
+            if (mod.getOp() == op) {
+                if (primaryMod < 0f) {
+                    primaryMod = mod.getValue();
+                }
+            }
+        }
+        return primaryMod > 0 ? primaryMod : 1;
+    }
+
+    private static float referenceWeightedAverage(Collection<StatInstance> modifiers, Operation op) {
+        float primaryMod = referencePrimaryMod(modifiers, op);
+        float ret = 0;
+        int count = 0;
+        float totalWeight = 0f;
+        for (StatInstance mod : modifiers) {
+            if (mod.getOp() == op) {
+                ++count;
+                float weight = referenceModifierWeight(mod, primaryMod, count);
+                totalWeight += weight;
+                ret += mod.getValue() * weight;
+            }
+        }
+        return count > 0 && totalWeight > 0 ? ret / totalWeight : ret;
+    }
+
+    private static float referenceModifierWeight(StatInstance mod, float primaryMod, int count) {
+        float weightBase = WEIGHT_BASE_MIN + WEIGHT_DEVIATION_COEFF * (mod.getValue() - primaryMod) / primaryMod;
+        float weightBaseClamped = MathHelper.clamp(weightBase, WEIGHT_BASE_MIN, WEIGHT_BASE_MAX);
+        return (float) Math.pow(weightBaseClamped, -(count == 0 ? count : 0.5 + 0.5f * count));
+    }
+}
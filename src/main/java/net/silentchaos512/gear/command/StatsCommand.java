@@ -11,6 +11,7 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.util.text.TranslationTextComponent;
+import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.item.ICoreItem;
 import net.silentchaos512.gear.api.part.PartDataList;
 import net.silentchaos512.gear.api.stats.ItemStat;
@@ -24,7 +25,9 @@ import net.silentchaos512.gear.util.GearHelper;
 import net.silentchaos512.gear.util.TextUtil;
 import net.silentchaos512.lib.util.PlayerUtils;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 public final class StatsCommand {
     private StatsCommand() {
@@ -48,6 +51,15 @@ public final class StatsCommand {
                         )
                 )
         );
+
+        if (SilentGear.isDevBuild()) {
+            dispatcher.register(Commands.literal("sgear_stats")
+                    .requires(source -> source.hasPermissionLevel(2))
+                    .then(Commands.literal("verify_compute")
+                            .executes(StatsCommand::runVerifyCompute)
+                    )
+            );
+        }
     }
 
     private static int runInfo(CommandContext<CommandSource> context, ServerPlayerEntity player) {
@@ -118,13 +130,25 @@ public final class StatsCommand {
         return 1;
     }
 
+    private static int runVerifyCompute(CommandContext<CommandSource> context) {
+        int[] result = StatComputeCheck.run();
+        if (result[1] == 0) {
+            context.getSource().sendFeedback(TextUtil.translate("command", "stats.verify_compute.success", result[0]), true);
+            return 1;
+        }
+        context.getSource().sendErrorMessage(TextUtil.translate("command", "stats.verify_compute.failure", result[0], result[1]));
+        return 0;
+    }
+
     private static int runRecalculate(CommandContext<CommandSource> context, Collection<ServerPlayerEntity> players) {
         for (ServerPlayerEntity player : players) {
+            List<ItemStack> gears = new ArrayList<>();
             for (ItemStack stack : PlayerUtils.getNonEmptyStacks(player)) {
                 if (GearHelper.isGear(stack)) {
-                    GearData.recalculateStats(stack, player);
+                    gears.add(stack);
                 }
             }
+            GearData.recalculateStatsBulk(gears, player);
             context.getSource().sendFeedback(new TranslationTextComponent("command.silentgear.recalculate", player.getScoreboardName()), true);
         }
         return 1;
@@ -14,9 +14,10 @@ import net.silentchaos512.gear.api.item.ICoreItem;
 import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.item.gear.CoreElytra;
 import net.silentchaos512.gear.util.DataResource;
-import net.silentchaos512.gear.util.TraitHelper;
+import net.silentchaos512.gear.util.EquippedTraits;
 import top.theillusivec4.curios.api.CuriosApi;
 import top.theillusivec4.curios.api.SlotTypePreset;
+import top.theillusivec4.curios.api.event.CurioChangeEvent;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -43,20 +44,11 @@ public final class CuriosCompat {
     }
 
     public static int getHighestTraitLevel(LivingEntity entity, DataResource<ITrait> trait) {
-        LazyOptional<IItemHandlerModifiable> lazy = CuriosApi.getCuriosHelper().getEquippedCurios(entity);
-        int max = 0;
-
-        if (lazy.isPresent()) {
-            IItemHandlerModifiable handler = lazy.orElseThrow(IllegalStateException::new);
-            for (int i = 0; i < handler.getSlots(); ++i) {
-                ItemStack stack = handler.getStackInSlot(i);
-                if (stack.getItem() instanceof ICoreItem) {
-                    max = Math.max(max, TraitHelper.getTraitLevel(stack, trait));
-                }
-            }
-        }
+        return EquippedTraits.getHighestLevel(entity, EquippedTraits.Group.CURIOS, trait.getId());
+    }
 
-        return max;
+    public static void onCurioChange(CurioChangeEvent event) {
+        EquippedTraits.markDirty(event.getEntityLiving(), EquippedTraits.Group.CURIOS);
     }
 
     public static Collection<ItemStack> getEquippedCurios(LivingEntity entity) {
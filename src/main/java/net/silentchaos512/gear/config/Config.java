@@ -9,18 +9,17 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.config.ModConfig;
-import net.minecraftforge.registries.IForgeRegistryEntry;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.ItemStats;
 import net.silentchaos512.gear.init.NerfedGear;
 import net.silentchaos512.gear.item.blueprint.BlueprintType;
+import net.silentchaos512.gear.util.GearData;
 import net.silentchaos512.gear.util.IAoeTool;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Mod.EventBusSubscriber(modid = SilentGear.MOD_ID, bus = Mod.EventBusSubscriber.Bus.MOD)
 public final class Config {
@@ -44,6 +43,11 @@ public final class Config {
         public static final ForgeConfigSpec.EnumValue<IAoeTool.MatchMode> matchModeStandard;
         public static final ForgeConfigSpec.EnumValue<IAoeTool.MatchMode> matchModeOres;
         public static final ForgeConfigSpec.IntValue damageFactorLevels;
+        public static final ForgeConfigSpec.IntValue loginRecalculationBudget;
+        public static final ForgeConfigSpec.BooleanValue lazyStats;
+        public static final ForgeConfigSpec.BooleanValue packedStats;
+        public static final ForgeConfigSpec.BooleanValue packedTraits;
+        public static final ForgeConfigSpec.IntValue magneticCadence;
         public static final ForgeConfigSpec.BooleanValue gearBreaksPermanently;
         public static final ForgeConfigSpec.IntValue prospectorHammerRange;
         public static final ForgeConfigSpec.DoubleValue repairFactorAnvil;
@@ -203,6 +207,31 @@ public final class Config {
                                 "Higher numbers will cause more recalculations, allowing traits to update stat values more often")
                         .defineInRange("damageFactorLevels", 10, 1, Integer.MAX_VALUE);
 
+                loginRecalculationBudget = builder
+                        .comment("Milliseconds per server tick which may be spent recalculating stats of gear in a player's inventory after they log in.",
+                                "Held items, armor, and curios are always recalculated immediately. Set to 0 to recalculate everything immediately.")
+                        .defineInRange("loginRecalculationBudget", 5, 0, 1000);
+
+                lazyStats = builder
+                        .comment("If true, stat recalculation only updates traits, and each stat is computed the first time it is read.",
+                                "This makes building gear which is never looked at (crafting previews, loot) cheaper, but stats are computed again on each side.")
+                        .define("lazyStats", false);
+
+                packedStats = builder
+                        .comment("If true, gear stats are stored in NBT as a packed array of numbers instead of named values.",
+                                "This makes gear NBT smaller and faster to copy and send. Gear stored in either format can always be read.")
+                        .define("packedStats", false);
+
+                packedTraits = builder
+                        .comment("If true, gear traits are stored in NBT as a packed array of numbers instead of a list of names and levels.",
+                                "Like packedStats, this makes gear NBT smaller. Gear stored in either format can always be read.")
+                        .define("packedTraits", false);
+
+                magneticCadence = builder
+                        .comment("Magnetic gear pulls items once every this many ticks, with the pull scaled up to match. Players are spread evenly across these ticks.",
+                                "Higher values make many players with magnetic gear cheaper, but items will move less smoothly.")
+                        .defineInRange("magneticCadence", 1, 1, 20);
+
                 gearBreaksPermanently = builder
                         .comment("If true, gear breaks permanently, like vanilla tools and armor")
                         .define("breaksPermanently", false);
@@ -341,32 +370,78 @@ public final class Config {
             spec = builder.build();
         }
 
+        // Values used on hot paths, resolved once whenever the config is loaded
+        @Nullable private static volatile Compiled compiled;
+        // Advanced when the config is loaded, snapshots built for an older generation are discarded
+        private static final AtomicInteger compiledGeneration = new AtomicInteger();
+
         private Common() {}
 
         public static float getStatWithMultiplier(ItemStat stat, float value) {
-            if (statMultipliers.containsKey(stat))
-                return statMultipliers.get(stat).get().floatValue() * value;
+            float[] multipliers = getCompiled().statMultipliers;
+            int index = stat.getIndex();
+            if (index < multipliers.length)
+                return multipliers[index] * value;
             return value;
         }
 
         @SuppressWarnings("TypeMayBeWeakened")
         public static boolean isNerfedItem(Item item) {
-            return nerfedItemsEnabled.get() && isThingInList(item, nerfedItems);
+            Compiled values = getCompiled();
+            return values.nerfedItemsEnabled && values.nerfedItems.contains(item.getRegistryName());
         }
 
         public static boolean isSinewAnimal(LivingEntity entity) {
-            return isThingInList(entity.getType(), sinewAnimals);
+            return getCompiled().sinewAnimals.contains(entity.getType().getRegistryName());
         }
 
-        private static boolean isThingInList(IForgeRegistryEntry<?> thing, ForgeConfigSpec.ConfigValue<List<? extends String>> list) {
-            ResourceLocation name = thing.getRegistryName();
+        private static Compiled getCompiled() {
+            Compiled ret = compiled;
+            int generation = compiledGeneration.get();
+            if (ret == null || ret.generation != generation) {
+                // A build which overlaps a reload stores a snapshot of the old generation, which is
+                // replaced on the next call
+                ret = new Compiled(generation);
+                compiled = ret;
+            }
+            return ret;
+        }
+
+        private static Set<ResourceLocation> toIdSet(ForgeConfigSpec.ConfigValue<List<? extends String>> list) {
+            Set<ResourceLocation> set = new HashSet<>();
             for (String str : list.get()) {
-                ResourceLocation fromList = ResourceLocation.tryCreate(str);
-                if (fromList != null && fromList.equals(name)) {
-                    return true;
+                ResourceLocation id = ResourceLocation.tryCreate(str);
+                if (id != null) {
+                    set.add(id);
                 }
             }
-            return false;
+            return set;
+        }
+
+        /**
+         * Snapshot of config values which are checked very often
+         */
+        private static final class Compiled {
+            private final int generation;
+            // Indexed by ItemStat#getIndex, 1 for stats without a multiplier
+            private final float[] statMultipliers;
+            private final boolean nerfedItemsEnabled;
+            private final Set<ResourceLocation> nerfedItems;
+            private final Set<ResourceLocation> sinewAnimals;
+
+            private Compiled(int generation) {
+                this.generation = generation;
+                this.statMultipliers = new float[ItemStats.getStatCount()];
+                Arrays.fill(this.statMultipliers, 1f);
+                Common.statMultipliers.forEach((stat, config) -> {
+                    if (stat.getIndex() < this.statMultipliers.length) {
+                        this.statMultipliers[stat.getIndex()] = config.get().floatValue();
+                    }
+                });
+                this.nerfedItemsEnabled = Common.nerfedItemsEnabled.get();
+                this.nerfedItems = toIdSet(Common.nerfedItems);
+                this.sinewAnimals = toIdSet(Common.sinewAnimals);
+            }
         }
     }
 
@@ -411,6 +486,11 @@ public final class Config {
     }
 
     public static void sync() {
+        // Compiled again on next use, after the new values are loaded
+        Common.compiledGeneration.incrementAndGet();
+        Common.compiled = null;
+        // Stat multipliers and damage factor levels may have changed
+        GearData.invalidateRecalculationFingerprints();
     }
 
     @SubscribeEvent
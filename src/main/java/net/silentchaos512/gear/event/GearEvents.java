@@ -25,7 +25,6 @@ import net.minecraft.enchantment.Enchantments;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.item.ItemEntity;
 import net.minecraft.entity.passive.CatEntity;
 import net.minecraft.entity.passive.ChickenEntity;
 import net.minecraft.entity.passive.RabbitEntity;
@@ -48,7 +47,6 @@ import net.minecraft.potion.EffectInstance;
 import net.minecraft.potion.Effects;
 import net.minecraft.tags.FluidTags;
 import net.minecraft.util.*;
-import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.vector.Vector3d;
@@ -74,6 +72,7 @@ import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.api.traits.TraitActionContext;
 import net.silentchaos512.gear.gear.part.CompoundPart;
 import net.silentchaos512.gear.gear.part.PartData;
+import net.silentchaos512.gear.gear.trait.TraitHook;
 import net.silentchaos512.gear.item.CompoundPartItem;
 import net.silentchaos512.gear.item.gear.CoreArmor;
 import net.silentchaos512.gear.util.*;
@@ -121,7 +120,7 @@ public final class GearEvents {
         if (!(weapon.getItem() instanceof ICoreTool)) return;
 
         final float baseDamage = event.getAmount();
-        final float newDamage = TraitHelper.activateTraits(weapon, baseDamage, (trait, level, value) ->
+        final float newDamage = TraitHelper.activateTraits(weapon, baseDamage, TraitHook.ATTACK_ENTITY, (trait, level, value) ->
                 trait.onAttackEntity(new TraitActionContext(player, level, weapon), attacked, value));
 
         if (Math.abs(newDamage - baseDamage) > 0.0001f) {
@@ -144,6 +143,11 @@ public final class GearEvents {
     }
 
     private static void damageFlammableItems(LivingDamageEvent event) {
+        PlayerEntity player = (PlayerEntity) event.getEntityLiving();
+        if (!TraitHelper.hasTraitEitherHand(player, Const.Traits.FLAMMABLE) && !TraitHelper.hasTraitArmor(player, Const.Traits.FLAMMABLE)) {
+            return;
+        }
+
         for (EquipmentSlotType slot : EquipmentSlotType.values()) {
             ItemStack stack = event.getEntityLiving().getItemStackFromSlot(slot);
             if (GearHelper.isGear(stack) && TraitHelper.hasTrait(stack, Const.Traits.FLAMMABLE)) {
@@ -374,7 +378,7 @@ public final class GearEvents {
                     TraitHelper.getHighestLevelCurio(event.player, Const.Traits.MAGNETIC));
 
             if (magnetic > 0) {
-                tickMagnetic(event.player, magnetic);
+                MagneticHandler.addHolder(event.player, magnetic);
             }
 
             // Turtle trait
@@ -395,31 +399,6 @@ public final class GearEvents {
         }
     }
 
-    private static void tickMagnetic(PlayerEntity player, int magneticLevel) {
-        if (player.isCrouching()) return;
-
-        final int range = magneticLevel * 3 + 1;
-        Vector3d target = new Vector3d(player.getPosX(), player.getPosYHeight(0.5), player.getPosZ());
-
-        AxisAlignedBB aabb = new AxisAlignedBB(player.getPosX() - range, player.getPosY() - range, player.getPosZ() - range, player.getPosX() + range + 1, player.getPosY() + range + 1, player.getPosZ() + range + 1);
-        for (ItemEntity entity : player.world.getEntitiesWithinAABB(ItemEntity.class, aabb, e -> e.getDistanceSq(player) < range * range)) {
-            if (canMagneticPullItem(entity)) {
-                // Accelerate to target point
-                Vector3d vec = entity.func_230268_c_(player).subtractReverse(target);
-                vec = vec.normalize().scale(0.06);
-                if (entity.getPosY() < target.y) {
-                    double xzDistanceSq = (entity.getPosX() - target.x) * (entity.getPosX() - target.x) + (entity.getPosZ() - target.z) * (entity.getPosZ() - target.z);
-                    vec = vec.add(0, 0.005 + xzDistanceSq / 1000, 0);
-                }
-                entity.addVelocity(vec.x, vec.y, vec.z);
-            }
-        }
-    }
-
-    private static boolean canMagneticPullItem(ItemEntity entity) {
-        return !entity.cannotPickup() && !entity.getPersistentData().getBoolean("PreventRemoteMovement");
-    }
-
     @SubscribeEvent
     public static void onLivingFall(LivingFallEvent event) {
         ItemStack stack = event.getEntityLiving().getItemStackFromSlot(EquipmentSlotType.FEET);
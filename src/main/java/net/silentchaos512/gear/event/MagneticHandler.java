@@ -0,0 +1,136 @@
+package net.silentchaos512.gear.event;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.ItemEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.SectionPos;
+import net.minecraft.util.math.vector.Vector3d;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.config.Config;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pulls items towards players with the magnetic trait. Players are gathered while they tick, then
+ * all items are moved in a single pass per world at the end of the server tick. Each chunk section
+ * near any player is only searched once, no matter how many players are near it.
+ * <p>
+ * With a {@code magneticCadence} above 1, each player only pulls items every few ticks (players are
+ * spread across those ticks), and the pull is scaled up to match.
+ */
+@Mod.EventBusSubscriber(modid = SilentGear.MOD_ID)
+public final class MagneticHandler {
+    // Only accessed from the server thread
+    private static final Map<World, List<Holder>> HOLDERS = new IdentityHashMap<>();
+
+    private MagneticHandler() {}
+
+    /**
+     * Queues a player to pull items at the end of this tick.
+     *
+     * @param player        The player
+     * @param magneticLevel The highest level of the magnetic trait on the player's gear
+     */
+    public static void addHolder(PlayerEntity player, int magneticLevel) {
+        if (player.isCrouching()) return;
+
+        int cadence = Config.Common.magneticCadence.get();
+        if (Math.floorMod(player.ticksExisted + player.getEntityId(), cadence) == 0) {
+            HOLDERS.computeIfAbsent(player.world, w -> new ArrayList<>()).add(new Holder(player, magneticLevel, cadence));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || HOLDERS.isEmpty()) return;
+
+        HOLDERS.forEach(MagneticHandler::pullItems);
+        HOLDERS.clear();
+    }
+
+    private static void pullItems(World world, List<Holder> holders) {
+        // Find which players are near each chunk section
+        Long2ObjectMap<List<Holder>> sections = new Long2ObjectOpenHashMap<>();
+        for (Holder holder : holders) {
+            AxisAlignedBB box = holder.box;
+            int minX = MathHelper.floor((box.minX - 2.0) / 16.0);
+            int maxX = MathHelper.floor((box.maxX + 2.0) / 16.0);
+            int minY = MathHelper.clamp(MathHelper.floor((box.minY - 2.0) / 16.0), 0, 15);
+            int maxY = MathHelper.clamp(MathHelper.floor((box.maxY + 2.0) / 16.0), 0, 15);
+            int minZ = MathHelper.floor((box.minZ - 2.0) / 16.0);
+            int maxZ = MathHelper.floor((box.maxZ + 2.0) / 16.0);
+
+            for (int x = minX; x <= maxX; ++x) {
+                for (int z = minZ; z <= maxZ; ++z) {
+                    for (int y = minY; y <= maxY; ++y) {
+                        sections.computeIfAbsent(SectionPos.asLong(x, y, z), pos -> new ArrayList<>(2)).add(holder);
+                    }
+                }
+            }
+        }
+
+        for (Long2ObjectMap.Entry<List<Holder>> entry : sections.long2ObjectEntrySet()) {
+            long pos = entry.getLongKey();
+            Chunk chunk = world.getChunkProvider().getChunk(SectionPos.extractX(pos), SectionPos.extractZ(pos), false);
+            if (chunk == null) continue;
+
+            ClassInheritanceMultiMap<Entity> entities = chunk.getEntityLists()[SectionPos.extractY(pos)];
+            for (ItemEntity item : entities.getByClass(ItemEntity.class)) {
+                if (canMagneticPullItem(item)) {
+                    for (Holder holder : entry.getValue()) {
+                        holder.tryPull(item);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean canMagneticPullItem(ItemEntity entity) {
+        return entity.isAlive() && !entity.cannotPickup() && !entity.getPersistentData().getBoolean("PreventRemoteMovement");
+    }
+
+    private static final class Holder {
+        private final PlayerEntity player;
+        private final int range;
+        private final double strength;
+        private final Vector3d target;
+        private final AxisAlignedBB box;
+
+        private Holder(PlayerEntity player, int magneticLevel, int cadence) {
+            this.player = player;
+            this.range = magneticLevel * 3 + 1;
+            this.strength = cadence;
+            this.target = new Vector3d(player.getPosX(), player.getPosYHeight(0.5), player.getPosZ());
+            this.box = new AxisAlignedBB(player.getPosX() - range, player.getPosY() - range, player.getPosZ() - range, player.getPosX() + range + 1, player.getPosY() + range + 1, player.getPosZ() + range + 1);
+        }
+
+        private void tryPull(ItemEntity entity) {
+            if (!box.intersects(entity.getBoundingBox()) || entity.getDistanceSq(player) >= range * range) {
+                return;
+            }
+
+            // Accelerate to target point
+            Vector3d vec = entity.func_230268_c_(player).subtractReverse(target);
+            vec = vec.normalize().scale(0.06);
+            if (entity.getPosY() < target.y) {
+                double xzDistanceSq = (entity.getPosX() - target.x) * (entity.getPosX() - target.x) + (entity.getPosZ() - target.z) * (entity.getPosZ() - target.z);
+                vec = vec.add(0, 0.005 + xzDistanceSq / 1000, 0);
+            }
+            vec = vec.scale(strength);
+            entity.addVelocity(vec.x, vec.y, vec.z);
+        }
+    }
+}
@@ -16,6 +16,7 @@ import net.silentchaos512.gear.api.material.*;
 import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.StatInstance;
+import net.silentchaos512.gear.api.traits.TraitConditionContext;
 import net.silentchaos512.gear.api.traits.TraitInstance;
 import net.silentchaos512.gear.api.util.PartGearKey;
 import net.silentchaos512.gear.api.util.StatGearKey;
@@ -166,16 +167,20 @@ public class CompoundMaterial implements IMaterial { // TODO: Extend AbstractMat
         }
 
         MaterialInstance matInst = material instanceof MaterialInstance ? (MaterialInstance) material : null;
-        GetMaterialStatsEvent event = null;
+        List<StatInstance> ret = new ArrayList<>();
         if (matInst != null) {
-            // FIXME: Potentially bad cast, need to rework event
-            event = new GetMaterialStatsEvent(matInst, stat, partType, statMods);
-            MinecraftForge.EVENT_BUS.post(event);
+            if (GetMaterialStatsEvent.hasListeners()) {
+                // FIXME: Potentially bad cast, need to rework event
+                GetMaterialStatsEvent event = new GetMaterialStatsEvent(matInst, stat, partType, statMods);
+                MinecraftForge.EVENT_BUS.post(event);
+                ret.addAll(event.getModifiers());
+            } else {
+                ret.addAll(statMods);
+            }
         }
 
         // Average together all modifiers of the same op. This makes things like rods with varying
         // numbers of materials more "sane".
-        List<StatInstance> ret = new ArrayList<>(event != null ? event.getModifiers() : Collections.emptyList());
         for (StatInstance.Operation op : StatInstance.Operation.values()) {
             Collection<StatInstance> modsForOp = ret.stream().filter(s -> s.getOp() == op).collect(Collectors.toList());
             if (modsForOp.size() > 1) {
@@ -232,11 +237,12 @@ public class CompoundMaterial implements IMaterial { // TODO: Extend AbstractMat
     @Override
     public Collection<TraitInstance> getTraits(IMaterialInstance material, PartGearKey partKey, ItemStack gear) {
         List<IMaterialInstance> materials = new ArrayList<>(getMaterials(material));
-        List<TraitInstance> traits = TraitHelper.getTraits(materials, partKey, ItemStack.EMPTY);
+        TraitConditionContext conditionContext = TraitConditionContext.of(partKey, ItemStack.EMPTY, materials);
+        List<TraitInstance> traits = TraitHelper.getTraits(conditionContext);
         Collection<TraitInstance> ret = new ArrayList<>();
 
         for (TraitInstance inst : traits) {
-            if (inst.conditionsMatch(partKey, ItemStack.EMPTY, materials)) {
+            if (inst.conditionsMatch(conditionContext)) {
                 ret.add(inst);
             }
         }
@@ -1,5 +1,10 @@
 package net.silentchaos512.gear.gear.material;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.mojang.datafixers.util.Pair;
 import net.minecraft.enchantment.Enchantment;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.item.ItemStack;
@@ -21,6 +26,7 @@ import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.ItemStats;
 import net.silentchaos512.gear.api.stats.StatInstance;
 import net.silentchaos512.gear.api.traits.TraitInstance;
+import net.silentchaos512.gear.api.util.GearBuildContext;
 import net.silentchaos512.gear.api.util.PartGearKey;
 import net.silentchaos512.gear.api.util.StatGearKey;
 import net.silentchaos512.gear.client.material.MaterialDisplayManager;
@@ -35,14 +41,24 @@ import net.silentchaos512.utils.Color;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public final class MaterialInstance implements IMaterialInstance {
-    private static final Map<ResourceLocation, MaterialInstance> QUICK_CACHE = new HashMap<>();
+    private static final Map<ResourceLocation, MaterialInstance> QUICK_CACHE = new ConcurrentHashMap<>();
+    // Stat modifiers of simple materials, with grade, enchantment, and event modifications applied
+    private static final Cache<StatCacheKey, List<StatInstance>> STAT_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(100_000)
+            .recordStats()
+            .build();
+    // Advanced when the stat cache is cleared, so stats computed before that are never cached
+    private static final AtomicInteger STAT_CACHE_GENERATION = new AtomicInteger();
 
     private final IMaterial material;
     private final MaterialGrade grade;
     private final ItemStack item;
+    @Nullable private StatSignature statSignature;
 
     private MaterialInstance(IMaterial material) {
         this(material, MaterialGrade.NONE, material.getDisplayItem(PartType.MAIN, 0));
@@ -137,7 +153,82 @@ public final class MaterialInstance implements IMaterialInstance {
 
     @Override
     public Collection<StatInstance> getStatModifiers(PartType partType, StatGearKey key, ItemStack gear) {
-        List<StatInstance> mods = new ArrayList<>(material.getStatModifiers(this, partType, key, gear));
+        return getStatModifiers(partType, key, gear, GearBuildContext.create());
+    }
+
+    @Override
+    public Collection<StatInstance> getStatModifiers(PartType partType, StatGearKey key, ItemStack gear, GearBuildContext context) {
+        // Modifiers of simple materials do not depend on anything but the material, grade, and
+        // charge enchantments, unless a gear item is provided
+        StatSignature signature = getStatSignature();
+        if (!gear.isEmpty() || signature == null) {
+            return applyInstanceModifiers(material.getStatModifiers(this, partType, key, gear, context), partType, key);
+        }
+
+        final int generation = STAT_CACHE_GENERATION.get();
+        StatCacheKey cacheKey = new StatCacheKey(generation, signature, partType, key);
+        List<StatInstance> cached = STAT_CACHE.getIfPresent(cacheKey);
+        if (cached == null) {
+            cached = ImmutableList.copyOf(applyInstanceModifiers(material.getStatModifiers(this, partType, key, gear, context), partType, key));
+            // Background jobs may still hold materials from before a reload, which must not be
+            // cached under the same ID as the reloaded material
+            if (STAT_CACHE_GENERATION.get() == generation && MaterialManager.get(material.getId()) == material) {
+                STAT_CACHE.put(cacheKey, cached);
+            }
+        }
+        // Callers are allowed to modify the returned collection
+        return new ArrayList<>(cached);
+    }
+
+    /**
+     * Clears cached stat modifiers of all material instances. Must be called whenever materials
+     * are reloaded or received from the server.
+     */
+    public static void clearCachedStats() {
+        CacheStats stats = STAT_CACHE.stats();
+        SilentGear.LOGGER.debug("Clearing material stat cache ({} entries, {} hits, {} misses)",
+                STAT_CACHE.size(), stats.hitCount(), stats.missCount());
+        STAT_CACHE_GENERATION.incrementAndGet();
+        STAT_CACHE.invalidateAll();
+        QUICK_CACHE.clear();
+    }
+
+    /**
+     * Gets hit and miss counts of the stat modifier cache, for profiling
+     *
+     * @return Stat modifier cache statistics
+     */
+    public static CacheStats getStatCacheStats() {
+        return STAT_CACHE.stats();
+    }
+
+    /**
+     * Gets a key which identifies everything that affects the stat modifiers of this instance.
+     * Instances with equal signatures have equal stat modifiers.
+     *
+     * @return The signature, or null if the material is not simple (stats depend on item NBT)
+     */
+    @Nullable
+    public StatSignature getStatSignature() {
+        if (!material.isSimple()) {
+            return null;
+        }
+        // The item is copied when the instance is created and never modified
+        if (statSignature == null) {
+            ImmutableList.Builder<Pair<Enchantment, Integer>> builder = ImmutableList.builder();
+            EnchantmentHelper.getEnchantments(this.item).forEach((enchantment, level) -> {
+                if (enchantment instanceof IStatModifierEnchantment) {
+                    builder.add(Pair.of(enchantment, level));
+                }
+            });
+            statSignature = new StatSignature(material.getId(), grade, builder.build());
+        }
+        return statSignature;
+    }
+
+    private Collection<StatInstance> applyInstanceModifiers(Collection<StatInstance> materialMods, PartType partType, StatGearKey key) {
+        // Applies grade, enchantment, and event modifications specific to this instance
+        List<StatInstance> mods = new ArrayList<>(materialMods);
 
         ItemStat stat = ItemStats.get(key.getStat());
         if (stat == null) {
@@ -158,6 +249,9 @@ public final class MaterialInstance implements IMaterialInstance {
 
         getEnchantmentModifiedStats(mods, key);
 
+        if (!GetMaterialStatsEvent.hasListeners()) {
+            return mods;
+        }
         GetMaterialStatsEvent event = new GetMaterialStatsEvent(this, stat, partType, mods);
         MinecraftForge.EVENT_BUS.post(event);
         return event.getModifiers();
@@ -318,6 +412,69 @@ public final class MaterialInstance implements IMaterialInstance {
         return id;
     }
 
+    /**
+     * Material ID, grade, and charge enchantment levels of a simple material instance
+     */
+    public static final class StatSignature {
+        private final ResourceLocation materialId;
+        private final MaterialGrade grade;
+        private final List<Pair<Enchantment, Integer>> chargeLevels;
+        private final int hash;
+
+        private StatSignature(ResourceLocation materialId, MaterialGrade grade, List<Pair<Enchantment, Integer>> chargeLevels) {
+            this.materialId = materialId;
+            this.grade = grade;
+            this.chargeLevels = chargeLevels;
+            this.hash = Objects.hash(materialId, grade, chargeLevels);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            StatSignature that = (StatSignature) o;
+            return hash == that.hash &&
+                    grade == that.grade &&
+                    materialId.equals(that.materialId) &&
+                    chargeLevels.equals(that.chargeLevels);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class StatCacheKey {
+        private final int generation;
+        private final StatSignature signature;
+        private final PartType partType;
+        private final StatGearKey key;
+
+        private StatCacheKey(int generation, StatSignature signature, PartType partType, StatGearKey key) {
+            this.generation = generation;
+            this.signature = signature;
+            this.partType = partType;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            StatCacheKey that = (StatCacheKey) o;
+            return generation == that.generation &&
+                    signature.equals(that.signature) &&
+                    partType.equals(that.partType) &&
+                    key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (31 * generation + signature.hashCode()) + partType.hashCode()) + key.hashCode();
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
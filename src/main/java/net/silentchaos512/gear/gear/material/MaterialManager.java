@@ -19,7 +19,10 @@ import net.minecraftforge.common.crafting.CraftingHelper;
 import net.minecraftforge.fml.network.NetworkEvent;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.material.IMaterial;
+import net.silentchaos512.gear.gear.part.CompoundPart;
 import net.silentchaos512.gear.network.SyncMaterialsPacket;
+import net.silentchaos512.gear.util.GearData;
+import net.silentchaos512.gear.util.SynergyUtils;
 import net.silentchaos512.gear.util.TextUtil;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Marker;
@@ -55,6 +58,10 @@ public class MaterialManager implements IResourceManagerReloadListener {
         synchronized (MAP) {
             MAP.clear();
             ERROR_LIST.clear();
+            MaterialInstance.clearCachedStats();
+            CompoundPart.clearCachedStats();
+            SynergyUtils.clearCache();
+            GearData.invalidateRecalculationFingerprints();
             SilentGear.LOGGER.info(MARKER, "Reloading material files");
 
             for (ResourceLocation id : resources) {
@@ -89,6 +96,7 @@ public class MaterialManager implements IResourceManagerReloadListener {
 
         checkForIngredientConflicts(ingredientConflicts);
         logSkippedMaterials(skippedList);
+        SynergyUtils.precomputeSingleMaterials();
     }
 
     private static void addIngredientChecks(Multimap<String, IMaterial> map, IMaterial material, JsonObject json) {
@@ -179,8 +187,13 @@ public class MaterialManager implements IResourceManagerReloadListener {
                 mat.retainData(oldMaterials.get(mat.getId()));
                 MAP.put(mat.getId(), mat);
             }
+            MaterialInstance.clearCachedStats();
+            CompoundPart.clearCachedStats();
+            SynergyUtils.clearCache();
+            GearData.invalidateRecalculationFingerprints();
             SilentGear.LOGGER.info("Read {} materials from server", MAP.size());
         }
+        SynergyUtils.precomputeSingleMaterials();
         ctx.get().setPacketHandled(true);
     }
 
@@ -86,6 +86,9 @@ public abstract class AbstractGearPart implements IGearPart {
     @Override
     public Collection<StatInstance> getStatModifiers(IPartData part, PartType partType, StatGearKey key, ItemStack gear) {
         List<StatInstance> mods = new ArrayList<>(this.stats.get(key));
+        if (!GetStatModifierEvent.hasListeners()) {
+            return mods;
+        }
         GetStatModifierEvent event = new GetStatModifierEvent((PartData) part, (ItemStat) key.getStat(), mods);
         MinecraftForge.EVENT_BUS.post(event);
         return event.getModifiers();
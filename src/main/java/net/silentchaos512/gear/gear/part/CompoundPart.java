@@ -1,5 +1,9 @@
 package net.silentchaos512.gear.gear.part;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import net.minecraft.item.ItemStack;
@@ -20,7 +24,9 @@ import net.silentchaos512.gear.api.part.IPartSerializer;
 import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.StatInstance;
+import net.silentchaos512.gear.api.traits.TraitConditionContext;
 import net.silentchaos512.gear.api.traits.TraitInstance;
+import net.silentchaos512.gear.api.util.GearBuildContext;
 import net.silentchaos512.gear.api.util.PartGearKey;
 import net.silentchaos512.gear.api.util.StatGearKey;
 import net.silentchaos512.gear.client.util.ColorUtils;
@@ -37,10 +43,18 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class CompoundPart extends AbstractGearPart {
+    // Final stat modifiers of parts, weighed by modifier count
+    private static final Cache<StatCacheKey, List<StatInstance>> STAT_CACHE = CacheBuilder.newBuilder()
+            .maximumWeight(200_000)
+            .weigher((StatCacheKey key, List<StatInstance> mods) -> mods.size() + 1)
+            .recordStats()
+            .build();
+
     private GearType gearType = GearType.ALL;
     private PartType partType;
 
@@ -125,11 +139,71 @@ public class CompoundPart extends AbstractGearPart {
 
     @Override
     public Collection<StatInstance> getStatModifiers(IPartData part, PartType partType, StatGearKey key, ItemStack gear) {
+        return getStatModifiers(part, partType, key, gear, GearBuildContext.create());
+    }
+
+    @Override
+    public Collection<StatInstance> getStatModifiers(IPartData part, PartType partType, StatGearKey key, ItemStack gear, GearBuildContext context) {
+        StatCacheKey cacheKey = getStatCacheKey(part, partType, key, gear, context);
+        if (cacheKey == null) {
+            return computeStatModifiers(part, partType, key, gear, context);
+        }
+
+        List<StatInstance> cached = STAT_CACHE.getIfPresent(cacheKey);
+        if (cached == null) {
+            cached = ImmutableList.copyOf(computeStatModifiers(part, partType, key, gear, context));
+            STAT_CACHE.put(cacheKey, cached);
+        }
+        return cached;
+    }
+
+    @Nullable
+    private StatCacheKey getStatCacheKey(IPartData part, PartType partType, StatGearKey key, ItemStack gear, GearBuildContext context) {
+        // Parts can only be cached if all materials are simple
+        List<IMaterialInstance> materials = context.getMaterials(part);
+        ImmutableList.Builder<MaterialInstance.StatSignature> signatures = ImmutableList.builder();
+        for (IMaterialInstance material : materials) {
+            MaterialInstance.StatSignature signature = material instanceof MaterialInstance
+                    ? ((MaterialInstance) material).getStatSignature()
+                    : null;
+            if (signature == null) {
+                return null;
+            }
+            signatures.add(signature);
+        }
+
+        // Trait conditions may check the gear item
+        GearType ownerType = gear.isEmpty() ? null : GearHelper.getType(gear);
+        return new StatCacheKey(this.getId(), signatures.build(), partType, key, ownerType);
+    }
+
+    /**
+     * Clears cached stat modifiers of all compound parts. Must be called whenever parts,
+     * materials, or traits are reloaded or received from the server.
+     */
+    public static void clearCachedStats() {
+        CacheStats stats = STAT_CACHE.stats();
+        SilentGear.LOGGER.debug("Clearing compound part stat cache ({} entries, {} hits, {} misses)",
+                STAT_CACHE.size(), stats.hitCount(), stats.missCount());
+        STAT_CACHE.invalidateAll();
+    }
+
+    /**
+     * Gets hit and miss counts of the stat modifier cache, for profiling
+     *
+     * @return Stat modifier cache statistics
+     */
+    public static CacheStats getStatCacheStats() {
+        return STAT_CACHE.stats();
+    }
+
+    private Collection<StatInstance> computeStatModifiers(IPartData part, PartType partType, StatGearKey key, ItemStack gear, GearBuildContext context) {
         // Get the materials and all the stat modifiers they provide for this stat
-        List<IMaterialInstance> materials = getMaterials(part);
-        List<StatInstance> statMods = materials.stream()
-                .flatMap(m -> m.getStatModifiers(partType, key).stream())
-                .collect(Collectors.toList());
+        List<IMaterialInstance> materials = context.getMaterials(part);
+        List<StatInstance> statMods = new ArrayList<>();
+        for (IMaterialInstance material : materials) {
+            statMods.addAll(material.getStatModifiers(partType, key, ItemStack.EMPTY, context));
+        }
 
         // Get any base modifiers for this part (could be none)
         statMods.addAll(this.stats.get(key));
@@ -139,12 +213,15 @@ public class CompoundPart extends AbstractGearPart {
             return statMods;
         }
 
-        GetStatModifierEvent event = new GetStatModifierEvent((PartData) part, (ItemStat) key.getStat(), statMods);
-        MinecraftForge.EVENT_BUS.post(event);
+        List<StatInstance> ret = statMods;
+        if (GetStatModifierEvent.hasListeners()) {
+            GetStatModifierEvent event = new GetStatModifierEvent((PartData) part, (ItemStat) key.getStat(), statMods);
+            MinecraftForge.EVENT_BUS.post(event);
+            ret = new ArrayList<>(event.getModifiers());
+        }
 
         // Average together all modifiers of the same op. This makes things like rods with varying
         // numbers of materials more "sane".
-        List<StatInstance> ret = new ArrayList<>(event.getModifiers());
         for (StatInstance.Operation op : StatInstance.Operation.values()) {
             Collection<StatInstance> modsForOp = ret.stream().filter(s -> s.getOp() == op).collect(Collectors.toList());
             if (modsForOp.size() > 1) {
@@ -156,7 +233,7 @@ public class CompoundPart extends AbstractGearPart {
 
         // Synergy
         if (key.getStat().doesSynergyApply()) {
-            final float synergy = SynergyUtils.getSynergy(this.partType, materials, getTraits(part, PartGearKey.of(gearType, partType), gear));
+            final float synergy = SynergyUtils.getSynergy(this.partType, materials, getTraits(part, PartGearKey.of(gearType, partType), gear, context));
             if (!MathUtils.floatsEqual(synergy, 1.0f)) {
                 final float multi = synergy - 1f;
                 for (int i = 0; i < ret.size(); ++i) {
@@ -187,16 +264,24 @@ public class CompoundPart extends AbstractGearPart {
 
     @Override
     public Collection<TraitInstance> getTraits(IPartData part, PartGearKey partKey, ItemStack gear) {
-        List<TraitInstance> ret = new ArrayList<>(super.getTraits(part, partKey, gear));
-        List<IMaterialInstance> materials = getMaterials(part);
+        return getTraits(part, partKey, gear, GearBuildContext.create());
+    }
 
-        for (TraitInstance inst : TraitHelper.getTraits(materials, partKey, gear)) {
-            if (inst.conditionsMatch(partKey, gear, materials)) {
-                ret.add(inst);
+    @Override
+    public Collection<TraitInstance> getTraits(IPartData part, PartGearKey partKey, ItemStack gear, GearBuildContext context) {
+        return context.getTraits(part, partKey, () -> {
+            List<TraitInstance> ret = new ArrayList<>(super.getTraits(part, partKey, gear));
+            List<IMaterialInstance> materials = context.getMaterials(part);
+            TraitConditionContext conditionContext = TraitConditionContext.of(partKey, gear, materials);
+
+            for (TraitInstance inst : TraitHelper.getTraits(conditionContext)) {
+                if (inst.conditionsMatch(conditionContext)) {
+                    ret.add(inst);
+                }
             }
-        }
 
-        return ret;
+            return ret;
+        });
     }
 
     @Override
@@ -313,4 +398,40 @@ public class CompoundPart extends AbstractGearPart {
             buffer.writeResourceLocation(part.partType.getName());
         }
     }
+
+    private static final class StatCacheKey {
+        private final ResourceLocation partId;
+        private final List<MaterialInstance.StatSignature> materials;
+        private final PartType partType;
+        private final StatGearKey key;
+        @Nullable private final GearType ownerType;
+        private final int hash;
+
+        private StatCacheKey(ResourceLocation partId, List<MaterialInstance.StatSignature> materials, PartType partType, StatGearKey key, @Nullable GearType ownerType) {
+            this.partId = partId;
+            this.materials = materials;
+            this.partType = partType;
+            this.key = key;
+            this.ownerType = ownerType;
+            this.hash = Objects.hash(partId, materials, partType, key, ownerType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            StatCacheKey that = (StatCacheKey) o;
+            return hash == that.hash &&
+                    partType == that.partType &&
+                    ownerType == that.ownerType &&
+                    partId.equals(that.partId) &&
+                    key.equals(that.key) &&
+                    materials.equals(that.materials);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
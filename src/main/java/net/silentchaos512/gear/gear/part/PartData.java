@@ -23,9 +23,10 @@ import net.silentchaos512.lib.util.InventoryUtils;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class PartData implements IPartData { // TODO: move to api.part package
-    private static final Map<ResourceLocation, PartData> CACHE_UNGRADED_PARTS = new HashMap<>();
+    private static final Map<ResourceLocation, PartData> CACHE_UNGRADED_PARTS = new ConcurrentHashMap<>();
     public static final String NBT_ID = "ID";
 
     private final IGearPart part;
@@ -44,14 +45,7 @@ public final class PartData implements IPartData { // TODO: move to api.part pac
     }
 
     public static PartData of(IGearPart part) {
-        ResourceLocation name = part.getId();
-        if (CACHE_UNGRADED_PARTS.containsKey(name)) {
-            return CACHE_UNGRADED_PARTS.get(name);
-        }
-
-        PartData inst = new PartData(part);
-        CACHE_UNGRADED_PARTS.put(name, inst);
-        return inst;
+        return CACHE_UNGRADED_PARTS.computeIfAbsent(part.getId(), id -> new PartData(part));
     }
 
     public static PartData of(IGearPart part, ItemStack craftingItem) {
@@ -22,6 +22,7 @@ import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.part.IGearPart;
 import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.network.SyncGearPartsPacket;
+import net.silentchaos512.gear.util.GearData;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
@@ -60,6 +61,8 @@ public final class PartManager implements IResourceManagerReloadListener {
         synchronized (MAP) {
             MAP.clear();
             ERROR_LIST.clear();
+            CompoundPart.clearCachedStats();
+            GearData.invalidateRecalculationFingerprints();
             SilentGear.LOGGER.info(MARKER, "Reloading part files");
 
             for (ResourceLocation id : resources) {
@@ -171,6 +174,8 @@ public final class PartManager implements IResourceManagerReloadListener {
                 part.retainData(oldParts.get(part.getId()));
                 MAP.put(part.getId(), part);
             }
+            CompoundPart.clearCachedStats();
+            GearData.invalidateRecalculationFingerprints();
             SilentGear.LOGGER.info("Read {} parts from server", MAP.size());
         }
         context.get().setPacketHandled(true);
@@ -5,7 +5,6 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.item.ItemStack;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.potion.Effect;
 import net.minecraft.potion.EffectInstance;
@@ -15,11 +14,10 @@ import net.minecraft.util.math.MathHelper;
 import net.minecraftforge.registries.ForgeRegistries;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.item.GearType;
-import net.silentchaos512.gear.api.item.ICoreArmor;
 import net.silentchaos512.gear.api.item.ICoreItem;
 import net.silentchaos512.gear.api.traits.ITraitSerializer;
 import net.silentchaos512.gear.api.traits.TraitActionContext;
-import net.silentchaos512.gear.util.TraitHelper;
+import net.silentchaos512.gear.util.EquippedTraits;
 import net.silentchaos512.lib.util.TimeUtils;
 import net.silentchaos512.utils.EnumUtils;
 
@@ -48,7 +46,7 @@ public class PotionEffectTrait extends SimpleTrait {
 
     @Override
     public void onUpdate(TraitActionContext context, boolean isEquipped) {
-        if (!isEquipped || context.getPlayer() == null || context.getPlayer().ticksExisted % 10 != 0) return;
+        if (!isEquipped || context.getPlayer() == null) return;
 
         GearType gearType = ((ICoreItem) context.getGear().getItem()).getGearType();
 
@@ -59,6 +57,11 @@ public class PotionEffectTrait extends SimpleTrait {
         }
     }
 
+    @Override
+    public int getUpdatePeriod() {
+        return 10;
+    }
+
     private void applyEffects(TraitActionContext context, GearType gearType, String type, Iterable<PotionData> effects) {
         PlayerEntity player = context.getPlayer();
         assert player != null; // checked in onUpdate
@@ -79,13 +82,7 @@ public class PotionEffectTrait extends SimpleTrait {
     private int getSetPieceCount(String type, PlayerEntity player) {
         if (!"armor".equals(type)) return 1;
 
-        int count = 0;
-        for (ItemStack stack : player.getArmorInventoryList()) {
-            if (stack.getItem() instanceof ICoreArmor && TraitHelper.hasTrait(stack, this)) {
-                ++count;
-            }
-        }
-        return count;
+        return EquippedTraits.getItemCount(player, EquippedTraits.Group.ARMOR, getId());
     }
 
     static void deserializeJson(PotionEffectTrait trait, JsonObject json) {
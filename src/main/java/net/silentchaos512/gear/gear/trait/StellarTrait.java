@@ -26,6 +26,7 @@ public class StellarTrait extends PotionEffectTrait {
     @Override
     public void onUpdate(TraitActionContext context, boolean isEquipped) {
         PlayerEntity player = context.getPlayer();
+        // Updates every 10 ticks for potion effects, but only repairs every 20
         if (player != null && player.ticksExisted % 20 == 0) {
             float chance = Const.Traits.STELLAR_REPAIR_CHANCE * context.getTraitLevel();
             if (MathUtils.tryPercentage(chance)) {
@@ -0,0 +1,113 @@
+package net.silentchaos512.gear.gear.trait;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.util.ResourceLocation;
+import net.silentchaos512.gear.api.traits.ITrait;
+
+import java.util.Collection;
+
+/**
+ * Which loaded traits cancel with which, computed once with {@link ITrait#willCancelWith(ITrait)}
+ * whenever traits are loaded or synced. Traits are given dense indices in load order. Each trait
+ * has a row bit set of the traits it cancels with, plus a combined bit set of the traits it
+ * cancels with in either direction, which allows quickly skipping traits that cancel with nothing
+ * in a list.
+ *
+ * @since 2.6.28
+ */
+public final class TraitCancelMatrix {
+    static final TraitCancelMatrix EMPTY = new TraitCancelMatrix(new ITrait[0]);
+
+    private final ITrait[] traits;
+    private final Object2IntMap<ResourceLocation> indices;
+    private final int words;
+    // Bit b of row a is set if trait a will cancel with trait b
+    private final long[][] cancels;
+    // Bit b of row a is set if either trait will cancel with the other
+    private final long[][] related;
+
+    private TraitCancelMatrix(ITrait[] traits) {
+        this.traits = traits;
+        this.indices = new Object2IntOpenHashMap<>(traits.length);
+        this.indices.defaultReturnValue(-1);
+        this.words = (traits.length + 63) >>> 6;
+        this.cancels = new long[traits.length][words];
+        this.related = new long[traits.length][words];
+
+        for (int a = 0; a < traits.length; ++a) {
+            this.indices.put(traits[a].getId(), a);
+        }
+        for (int a = 0; a < traits.length; ++a) {
+            for (int b = 0; b < traits.length; ++b) {
+                if (a != b && traits[a].willCancelWith(traits[b])) {
+                    set(this.cancels[a], b);
+                    set(this.related[a], b);
+                    set(this.related[b], a);
+                }
+            }
+        }
+    }
+
+    static TraitCancelMatrix build(Collection<ITrait> traits) {
+        return new TraitCancelMatrix(traits.toArray(new ITrait[0]));
+    }
+
+    /**
+     * Gets the dense index of the trait. Trait instances which are not currently loaded (left over
+     * from before a reload) have no index.
+     *
+     * @param trait The trait
+     * @return The index, or -1 if the trait is not in the matrix
+     */
+    public int indexOf(ITrait trait) {
+        int index = indices.getInt(trait.getId());
+        return index >= 0 && traits[index] == trait ? index : -1;
+    }
+
+    /**
+     * Creates an empty bit set of trait indices, to be used with {@link #add(long[], int)} and
+     * {@link #cancelsWithAny(int, long[])}.
+     *
+     * @return A new bit set
+     */
+    public long[] newIndexSet() {
+        return new long[words];
+    }
+
+    public void add(long[] indexSet, int index) {
+        set(indexSet, index);
+    }
+
+    /**
+     * Equivalent to {@code trait(a).willCancelWith(trait(b))}.
+     *
+     * @param a Index of the first trait
+     * @param b Index of the second trait
+     * @return True if trait {@code a} will cancel with trait {@code b}
+     */
+    public boolean cancels(int a, int b) {
+        return (cancels[a][b >>> 6] & (1L << b)) != 0;
+    }
+
+    /**
+     * Checks if the trait will cancel with, or be canceled by, any trait in the set.
+     *
+     * @param index    Index of the trait
+     * @param indexSet Indices of the other traits
+     * @return True if any pair would cancel
+     */
+    public boolean cancelsWithAny(int index, long[] indexSet) {
+        long[] row = related[index];
+        for (int i = 0; i < words; ++i) {
+            if ((row[i] & indexSet[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+}
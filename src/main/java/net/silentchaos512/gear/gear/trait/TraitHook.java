@@ -0,0 +1,84 @@
+package net.silentchaos512.gear.gear.trait;
+
+import net.silentchaos512.gear.api.traits.ITrait;
+
+import java.lang.reflect.Method;
+
+/**
+ * The action methods of {@link ITrait} which are called on gear. For traits extending {@link
+ * SimpleTrait}, the hooks a trait class actually implements are detected once by checking which
+ * methods it overrides, so callers can skip traits which would do nothing. Traits not extending
+ * SimpleTrait are assumed to implement every hook.
+ *
+ * @since 2.6.28
+ */
+public enum TraitHook {
+    ATTACK_ENTITY("onAttackEntity"),
+    DURABILITY_DAMAGE("onDurabilityDamage"),
+    GEAR_CRAFTED("onGearCrafted"),
+    RECALCULATE_PRE("onRecalculatePre"),
+    RECALCULATE_POST("onRecalculatePost"),
+    GET_STAT("onGetStat"),
+    GET_ATTRIBUTE_MODIFIERS("onGetAttributeModifiers"),
+    ITEM_USE("onItemUse"),
+    ITEM_SWING("onItemSwing"),
+    UPDATE("onUpdate"),
+    LOOT_DROPS("addLootDrops");
+
+    public static final int ALL_HOOKS = (1 << values().length) - 1;
+
+    private static final ClassValue<Integer> MASKS = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            int mask = 0;
+            for (TraitHook hook : values()) {
+                if (hook.isOverriddenBy(type)) {
+                    mask |= hook.bit;
+                }
+            }
+            return mask;
+        }
+    };
+
+    private final String methodName;
+    private final int bit;
+
+    TraitHook(String methodName) {
+        this.methodName = methodName;
+        this.bit = 1 << ordinal();
+    }
+
+    public int getBit() {
+        return bit;
+    }
+
+    /**
+     * Gets the hooks implemented by the trait, as a bit mask of {@link #getBit()} values.
+     *
+     * @param trait The trait
+     * @return The hook mask
+     */
+    public static int getMask(ITrait trait) {
+        return trait instanceof SimpleTrait ? MASKS.get(trait.getClass()) : ALL_HOOKS;
+    }
+
+    public boolean isImplementedBy(ITrait trait) {
+        return (getMask(trait) & bit) != 0;
+    }
+
+    private boolean isOverriddenBy(Class<?> type) {
+        // Check every overload of the method, any of them being overridden counts
+        for (Method method : SimpleTrait.class.getDeclaredMethods()) {
+            if (method.getName().equals(methodName)) {
+                try {
+                    if (type.getMethod(methodName, method.getParameterTypes()).getDeclaringClass() != SimpleTrait.class) {
+                        return true;
+                    }
+                } catch (NoSuchMethodException ex) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
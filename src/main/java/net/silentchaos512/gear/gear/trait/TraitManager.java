@@ -18,7 +18,10 @@ import net.minecraft.util.text.TextFormatting;
 import net.minecraftforge.fml.network.NetworkEvent;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.traits.ITrait;
+import net.silentchaos512.gear.gear.part.CompoundPart;
 import net.silentchaos512.gear.network.SyncTraitsPacket;
+import net.silentchaos512.gear.util.GearData;
+import net.silentchaos512.gear.util.TraitHelper;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
@@ -40,6 +43,7 @@ public final class TraitManager implements IResourceManagerReloadListener {
     private static final String DATA_PATH_OLD = "silentgear/traits";
     private static final Map<ResourceLocation, ITrait> MAP = Collections.synchronizedMap(new LinkedHashMap<>());
     private static final Collection<ResourceLocation> ERROR_LIST = new ArrayList<>();
+    private static volatile TraitCancelMatrix cancelMatrix = TraitCancelMatrix.EMPTY;
 
     private TraitManager() {}
 
@@ -51,6 +55,8 @@ public final class TraitManager implements IResourceManagerReloadListener {
 
         MAP.clear();
         ERROR_LIST.clear();
+        CompoundPart.clearCachedStats();
+        GearData.invalidateRecalculationFingerprints();
         SilentGear.LOGGER.info(MARKER, "Reloading trait files");
 
         for (ResourceLocation id : resources) {
@@ -78,6 +84,10 @@ public final class TraitManager implements IResourceManagerReloadListener {
         }
 
         SilentGear.LOGGER.info(MARKER, "Registered {} traits", MAP.size());
+        synchronized (MAP) {
+            cancelMatrix = TraitCancelMatrix.build(MAP.values());
+        }
+        TraitHelper.clearCachedTraitLists();
     }
 
     private static Collection<ResourceLocation> getAllResources(IResourceManager resourceManager) {
@@ -117,6 +127,16 @@ public final class TraitManager implements IResourceManagerReloadListener {
         return get(new ResourceLocation(strId));
     }
 
+    /**
+     * Gets the cancellation matrix of the currently loaded traits.
+     *
+     * @return The trait cancellation matrix
+     * @since 2.6.28
+     */
+    public static TraitCancelMatrix getCancelMatrix() {
+        return cancelMatrix;
+    }
+
     public static void handleTraitSyncPacket(SyncTraitsPacket packet, Supplier<NetworkEvent.Context> context) {
         synchronized (MAP) {
             Map<ResourceLocation, ITrait> oldTraits = ImmutableMap.copyOf(MAP);
@@ -125,7 +145,11 @@ public final class TraitManager implements IResourceManagerReloadListener {
                 trait.retainData(oldTraits.get(trait.getId()));
                 MAP.put(trait.getId(), trait);
             }
+            CompoundPart.clearCachedStats();
+            GearData.invalidateRecalculationFingerprints();
             SilentGear.LOGGER.info("Read {} traits from server", MAP.size());
+            cancelMatrix = TraitCancelMatrix.build(MAP.values());
+            TraitHelper.clearCachedTraitLists();
         }
         context.get().setPacketHandled(true);
     }
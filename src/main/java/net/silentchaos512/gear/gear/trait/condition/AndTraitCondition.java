@@ -15,6 +15,7 @@ import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.api.traits.ITraitCondition;
 import net.silentchaos512.gear.api.traits.ITraitConditionSerializer;
+import net.silentchaos512.gear.api.traits.TraitConditionContext;
 import net.silentchaos512.gear.api.util.IGearComponentInstance;
 import net.silentchaos512.gear.api.util.PartGearKey;
 import net.silentchaos512.gear.gear.trait.TraitSerializers;
@@ -57,8 +58,13 @@ public class AndTraitCondition implements ITraitCondition {
 
     @Override
     public boolean matches(ITrait trait, PartGearKey key, ItemStack gear, List<? extends IGearComponentInstance<?>> components) {
+        return matches(trait, TraitConditionContext.of(key, gear, components));
+    }
+
+    @Override
+    public boolean matches(ITrait trait, TraitConditionContext context) {
         for (ITraitCondition child : this.children) {
-            if (!child.matches(trait, key, gear, components)) {
+            if (!context.matches(child, trait)) {
                 return false;
             }
         }
@@ -10,7 +10,7 @@ import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.api.traits.ITraitCondition;
 import net.silentchaos512.gear.api.traits.ITraitConditionSerializer;
-import net.silentchaos512.gear.api.traits.TraitInstance;
+import net.silentchaos512.gear.api.traits.TraitConditionContext;
 import net.silentchaos512.gear.api.util.IGearComponentInstance;
 import net.silentchaos512.gear.api.util.PartGearKey;
 import net.silentchaos512.gear.util.TextUtil;
@@ -39,16 +39,12 @@ public class MaterialCountTraitCondition implements ITraitCondition {
 
     @Override
     public boolean matches(ITrait trait, PartGearKey key, ItemStack gear, List<? extends IGearComponentInstance<?>> components) {
-        int count = 0;
-        for (IGearComponentInstance<?> comp : components) {
-            for (TraitInstance inst : comp.getTraits(key, gear)) {
-                if (inst.getTrait() == trait) {
-                    count++;
-                    break;
-                }
-            }
-        }
-        return count >= this.requiredCount;
+        return matches(trait, TraitConditionContext.of(key, gear, components));
+    }
+
+    @Override
+    public boolean matches(ITrait trait, TraitConditionContext context) {
+        return context.getComponentCount(trait) >= this.requiredCount;
     }
 
     @Override
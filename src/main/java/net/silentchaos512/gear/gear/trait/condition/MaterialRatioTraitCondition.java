@@ -10,12 +10,11 @@ import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.api.traits.ITraitCondition;
 import net.silentchaos512.gear.api.traits.ITraitConditionSerializer;
-import net.silentchaos512.gear.api.traits.TraitInstance;
+import net.silentchaos512.gear.api.traits.TraitConditionContext;
 import net.silentchaos512.gear.api.util.IGearComponentInstance;
 import net.silentchaos512.gear.api.util.PartGearKey;
 import net.silentchaos512.gear.util.TextUtil;
 
-import java.util.Collection;
 import java.util.List;
 
 public class MaterialRatioTraitCondition implements ITraitCondition {
@@ -40,17 +39,12 @@ public class MaterialRatioTraitCondition implements ITraitCondition {
 
     @Override
     public boolean matches(ITrait trait, PartGearKey key, ItemStack gear, List<? extends IGearComponentInstance<?>> components) {
-        int count = 0;
-        for (IGearComponentInstance<?> comp : components) {
-            Collection<TraitInstance> traits = comp.getTraits(key, gear);
-            for (TraitInstance inst : traits) {
-                if (inst.getTrait() == trait) {
-                    ++count;
-                    break;
-                }
-            }
-        }
-        float ratio = (float) count / components.size();
+        return matches(trait, TraitConditionContext.of(key, gear, components));
+    }
+
+    @Override
+    public boolean matches(ITrait trait, TraitConditionContext context) {
+        float ratio = (float) context.getComponentCount(trait) / context.getComponents().size();
         return ratio >= this.requiredRatio;
     }
 
@@ -10,6 +10,7 @@ import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.api.traits.ITraitCondition;
 import net.silentchaos512.gear.api.traits.ITraitConditionSerializer;
+import net.silentchaos512.gear.api.traits.TraitConditionContext;
 import net.silentchaos512.gear.api.util.IGearComponentInstance;
 import net.silentchaos512.gear.api.util.PartGearKey;
 import net.silentchaos512.gear.gear.trait.TraitSerializers;
@@ -39,7 +40,12 @@ public class NotTraitCondition implements ITraitCondition {
 
     @Override
     public boolean matches(ITrait trait, PartGearKey key, ItemStack gear, List<? extends IGearComponentInstance<?>> components) {
-        return !this.child.matches(trait, key, gear, components);
+        return matches(trait, TraitConditionContext.of(key, gear, components));
+    }
+
+    @Override
+    public boolean matches(ITrait trait, TraitConditionContext context) {
+        return !context.matches(this.child, trait);
     }
 
     @Override
@@ -9,7 +9,7 @@ import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.api.traits.ITraitCondition;
 import net.silentchaos512.gear.api.traits.ITraitConditionSerializer;
-import net.silentchaos512.gear.api.traits.TraitInstance;
+import net.silentchaos512.gear.api.traits.TraitConditionContext;
 import net.silentchaos512.gear.api.util.IGearComponentInstance;
 import net.silentchaos512.gear.api.util.PartGearKey;
 import net.silentchaos512.gear.util.TextUtil;
@@ -33,14 +33,12 @@ public class PrimaryMaterialTraitCondition implements ITraitCondition {
 
     @Override
     public boolean matches(ITrait trait, PartGearKey key, ItemStack gear, List<? extends IGearComponentInstance<?>> components) {
-        if (!components.isEmpty()) {
-            for (TraitInstance t : components.get(0).getTraits(key, gear)) {
-                if (t.getTrait() == trait) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return matches(trait, TraitConditionContext.of(key, gear, components));
+    }
+
+    @Override
+    public boolean matches(ITrait trait, TraitConditionContext context) {
+        return context.isOnPrimaryComponent(trait);
     }
 
     @Override
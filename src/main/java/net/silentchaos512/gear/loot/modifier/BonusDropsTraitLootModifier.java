@@ -9,6 +9,7 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.common.loot.GlobalLootModifierSerializer;
 import net.minecraftforge.common.loot.LootModifier;
 import net.silentchaos512.gear.api.traits.TraitActionContext;
+import net.silentchaos512.gear.gear.trait.TraitHook;
 import net.silentchaos512.gear.util.GearHelper;
 import net.silentchaos512.gear.util.TraitHelper;
 
@@ -29,7 +30,7 @@ public class BonusDropsTraitLootModifier extends LootModifier {
 
         if (tool != null && GearHelper.isGear(tool)) {
             //noinspection OverlyLongLambda
-            TraitHelper.activateTraits(tool, 0, (trait, level, value) -> {
+            TraitHelper.activateTraits(tool, 0, TraitHook.LOOT_DROPS, (trait, level, value) -> {
                 generatedLoot.forEach(lootStack -> {
                     ItemStack stack = trait.addLootDrops(new TraitActionContext(null, level, tool), lootStack);
                     if (!stack.isEmpty()) {
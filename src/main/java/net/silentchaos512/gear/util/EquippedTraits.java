@@ -0,0 +1,258 @@
+package net.silentchaos512.gear.util;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.inventory.EquipmentSlotType;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.INBT;
+import net.minecraft.util.Direction;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityInject;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+import net.minecraftforge.common.util.LazyOptional;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.fml.ModList;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.compat.curios.CuriosCompat;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+
+/**
+ * Capability of living entities which holds the highest level of each trait on the gear they have
+ * equipped, and the number of items with each trait, for each of hands, armor, and curios. Queries
+ * are a map lookup instead of scanning every slot. The tables of a group are marked dirty when
+ * {@link LivingEquipmentChangeEvent} (or the curio equivalent) fires for one of its slots, and
+ * rebuilt the next time they are read. Tables are also rebuilt after traits are reloaded.
+ * <p>
+ * Equipment change events are only fired on the server, so queries on the client still scan the
+ * slots.
+ *
+ * @since 2.6.28
+ */
+public final class EquippedTraits {
+    @CapabilityInject(EquippedTraits.class)
+    public static Capability<EquippedTraits> INSTANCE = null;
+
+    private static final ResourceLocation NAME = SilentGear.getId("equipped_traits");
+
+    private final Object2IntMap<ResourceLocation>[] tables;
+    private final Object2IntMap<ResourceLocation>[] counts;
+    private final boolean[] dirty;
+    private int generation = -1;
+
+    @SuppressWarnings("unchecked")
+    private EquippedTraits() {
+        int groupCount = Group.values().length;
+        this.tables = new Object2IntMap[groupCount];
+        this.counts = new Object2IntMap[groupCount];
+        this.dirty = new boolean[groupCount];
+        for (int i = 0; i < groupCount; ++i) {
+            this.tables[i] = new Object2IntOpenHashMap<>();
+            this.counts[i] = new Object2IntOpenHashMap<>();
+            this.dirty[i] = true;
+        }
+    }
+
+    public static void register() {
+        CapabilityManager.INSTANCE.register(EquippedTraits.class, new Capability.IStorage<EquippedTraits>() {
+            @Override
+            public INBT writeNBT(Capability<EquippedTraits> capability, EquippedTraits instance, Direction side) {
+                return new CompoundNBT();
+            }
+
+            @Override
+            public void readNBT(Capability<EquippedTraits> capability, EquippedTraits instance, Direction side, INBT nbt) {
+            }
+        }, EquippedTraits::new);
+    }
+
+    public static void onAttachCapabilities(AttachCapabilitiesEvent<Entity> event) {
+        if (event.getObject() instanceof LivingEntity) {
+            event.addCapability(NAME, new Provider());
+        }
+    }
+
+    public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+        Group group = event.getSlot().getSlotType() == EquipmentSlotType.Group.HAND ? Group.HANDS : Group.ARMOR;
+        markDirty(event.getEntityLiving(), group);
+    }
+
+    /**
+     * Marks the table of a group of slots dirty. Call this when the item in one of the slots
+     * changes, if the change does not fire {@link LivingEquipmentChangeEvent}.
+     *
+     * @param entity The entity
+     * @param group  The group of slots which changed
+     */
+    public static void markDirty(LivingEntity entity, Group group) {
+        entity.getCapability(INSTANCE).ifPresent(cap -> cap.dirty[group.ordinal()] = true);
+    }
+
+    /**
+     * Gets the highest level of the trait on any item in the group of slots.
+     *
+     * @param entity  The entity
+     * @param group   The slots to check
+     * @param traitId The trait ID
+     * @return The highest trait level, or zero if no item has the trait
+     */
+    public static int getHighestLevel(LivingEntity entity, Group group, ResourceLocation traitId) {
+        Object2IntMap<ResourceLocation> table = getTable(entity, group);
+        if (table != null) {
+            return table.getInt(traitId);
+        }
+
+        int max = 0;
+        for (ItemStack stack : group.getStacks(entity)) {
+            max = Math.max(max, TraitHelper.getTraitLevel(stack, traitId));
+        }
+        return max;
+    }
+
+    /**
+     * Checks if any item in the group of slots has the trait, at any level.
+     *
+     * @param entity  The entity
+     * @param group   The slots to check
+     * @param traitId The trait ID
+     * @return True if and only if any item has the trait
+     */
+    public static boolean hasTrait(LivingEntity entity, Group group, ResourceLocation traitId) {
+        Object2IntMap<ResourceLocation> table = getTable(entity, group);
+        if (table != null) {
+            return table.containsKey(traitId);
+        }
+
+        for (ItemStack stack : group.getStacks(entity)) {
+            if (TraitHelper.hasTrait(stack, traitId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of items in the group of slots which have the trait, at any level. Used for
+     * armor set bonuses.
+     *
+     * @param entity  The entity
+     * @param group   The slots to check
+     * @param traitId The trait ID
+     * @return The number of items with the trait
+     */
+    public static int getItemCount(LivingEntity entity, Group group, ResourceLocation traitId) {
+        EquippedTraits cap = getUpToDate(entity, group);
+        if (cap != null) {
+            return cap.counts[group.ordinal()].getInt(traitId);
+        }
+
+        int count = 0;
+        for (ItemStack stack : group.getStacks(entity)) {
+            if (TraitHelper.hasTrait(stack, traitId)) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    @Nullable
+    private static Object2IntMap<ResourceLocation> getTable(LivingEntity entity, Group group) {
+        EquippedTraits cap = getUpToDate(entity, group);
+        return cap != null ? cap.tables[group.ordinal()] : null;
+    }
+
+    @Nullable
+    private static EquippedTraits getUpToDate(LivingEntity entity, Group group) {
+        if (entity.world.isRemote) {
+            return null;
+        }
+        EquippedTraits cap = entity.getCapability(INSTANCE).orElse(null);
+        if (cap != null) {
+            cap.update(entity, group);
+        }
+        return cap;
+    }
+
+    private void update(LivingEntity entity, Group group) {
+        int currentGeneration = TraitListCache.getGeneration();
+        if (generation != currentGeneration) {
+            // Traits were reloaded, levels of traits which no longer exist must go
+            generation = currentGeneration;
+            for (int i = 0; i < dirty.length; ++i) {
+                dirty[i] = true;
+            }
+        }
+
+        if (dirty[group.ordinal()]) {
+            Object2IntMap<ResourceLocation> table = tables[group.ordinal()];
+            Object2IntMap<ResourceLocation> countTable = counts[group.ordinal()];
+            table.clear();
+            countTable.clear();
+            for (ItemStack stack : group.getStacks(entity)) {
+                addTraits(table, countTable, stack);
+            }
+            dirty[group.ordinal()] = false;
+        }
+    }
+
+    private static void addTraits(Object2IntMap<ResourceLocation> table, Object2IntMap<ResourceLocation> countTable, ItemStack stack) {
+        if (!GearHelper.isGear(stack)) {
+            return;
+        }
+
+        TraitListCache.CompiledTraits traits = TraitListCache.get(stack);
+        for (int i = 0; i < traits.size(); ++i) {
+            ResourceLocation id = traits.getIdAt(i);
+            // Only the first entry of a trait counts, same as TraitHelper.getTraitLevel
+            if (id != null && traits.indexOf(id) == i) {
+                int level = Math.max(0, traits.getLevelAt(i));
+                table.put(id, Math.max(level, table.getInt(id)));
+                countTable.put(id, countTable.getInt(id) + 1);
+            }
+        }
+    }
+
+    public enum Group {
+        HANDS {
+            @Override
+            Iterable<ItemStack> getStacks(LivingEntity entity) {
+                return entity.getHeldEquipment();
+            }
+        },
+        ARMOR {
+            @Override
+            Iterable<ItemStack> getStacks(LivingEntity entity) {
+                return entity.getArmorInventoryList();
+            }
+        },
+        CURIOS {
+            @Override
+            Iterable<ItemStack> getStacks(LivingEntity entity) {
+                if (ModList.get().isLoaded(Const.CURIOS)) {
+                    return CuriosCompat.getEquippedCurios(entity);
+                }
+                return Collections.emptyList();
+            }
+        };
+
+        abstract Iterable<ItemStack> getStacks(LivingEntity entity);
+    }
+
+    private static final class Provider implements ICapabilityProvider {
+        private final LazyOptional<EquippedTraits> capability = LazyOptional.of(EquippedTraits::new);
+
+        @Nonnull
+        @Override
+        public <T> LazyOptional<T> getCapability(@Nonnull Capability<T> cap, @Nullable Direction side) {
+            return INSTANCE.orEmpty(cap, capability);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package net.silentchaos512.gear.util;
+
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.eventbus.EventBus;
+import net.minecraftforge.eventbus.ListenerList;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventListener;
+import net.silentchaos512.gear.SilentGear;
+
+import java.lang.reflect.Field;
+import java.util.function.Supplier;
+
+/**
+ * Checks whether anything listens for an event on {@link MinecraftForge#EVENT_BUS}, so that events
+ * which are posted very often can be skipped when nothing would receive them. If the listeners
+ * cannot be inspected, every check returns true and events are posted as usual.
+ *
+ * @since 2.6.28
+ */
+public final class EventListenerCheck {
+    private static final int BUS_ID = findBusId();
+
+    private final Supplier<? extends Event> sampleFactory;
+    private volatile ListenerList listenerList;
+
+    private EventListenerCheck(Supplier<? extends Event> sampleFactory) {
+        this.sampleFactory = sampleFactory;
+    }
+
+    /**
+     * Creates a check for an event type. The event's listener list can only be obtained from an
+     * instance, so the factory is called once to create a sample event, which is never posted.
+     *
+     * @param sampleFactory Creates an instance of the event
+     * @return A new check
+     */
+    public static EventListenerCheck of(Supplier<? extends Event> sampleFactory) {
+        return new EventListenerCheck(sampleFactory);
+    }
+
+    /**
+     * Checks if any listeners are registered for the event. Listeners can be added at any time,
+     * so this should be called every time before deciding to skip the event.
+     *
+     * @return True if the event has listeners, or if that cannot be determined
+     */
+    public boolean hasListeners() {
+        if (BUS_ID < 0) {
+            return true;
+        }
+
+        ListenerList list = listenerList;
+        if (list == null) {
+            list = sampleFactory.get().getListenerList();
+            listenerList = list;
+        }
+
+        for (IEventListener listener : list.getListeners(BUS_ID)) {
+            // Priorities are included in the array as markers, they are not listeners
+            if (!(listener instanceof EventPriority)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int findBusId() {
+        try {
+            Field field = EventBus.class.getDeclaredField("busID");
+            field.setAccessible(true);
+            return field.getInt(MinecraftForge.EVENT_BUS);
+        } catch (Exception ex) {
+            SilentGear.LOGGER.error("Failed to get event bus ID, events will always be posted");
+            SilentGear.LOGGER.catching(ex);
+            return -1;
+        }
+    }
+}
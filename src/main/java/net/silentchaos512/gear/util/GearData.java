@@ -4,18 +4,26 @@ import net.minecraft.crash.CrashReport;
 import net.minecraft.crash.CrashReportCategory;
 import net.minecraft.crash.ReportedException;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.INBT;
+import net.minecraft.nbt.IntArrayNBT;
 import net.minecraft.nbt.ListNBT;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.Util;
 import net.minecraft.util.math.MathHelper;
+import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.util.Constants;
 import net.minecraftforge.event.entity.player.PlayerEvent.PlayerLoggedInEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModList;
 import net.minecraftforge.fml.common.Mod;
 import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.api.event.GetGearStatModifiersEvent;
+import net.silentchaos512.gear.api.event.GetMaterialStatsEvent;
+import net.silentchaos512.gear.api.event.GetStatModifierEvent;
+import net.silentchaos512.gear.api.event.GetTraitsEvent;
 import net.silentchaos512.gear.api.item.GearType;
 import net.silentchaos512.gear.api.item.ICoreItem;
 import net.silentchaos512.gear.api.part.IGearPart;
@@ -25,6 +33,7 @@ import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.api.stats.*;
 import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.api.traits.TraitActionContext;
+import net.silentchaos512.gear.api.util.GearBuildContext;
 import net.silentchaos512.gear.api.util.StatGearKey;
 import net.silentchaos512.gear.compat.curios.CuriosCompat;
 import net.silentchaos512.gear.config.Config;
@@ -33,13 +42,16 @@ import net.silentchaos512.gear.gear.part.CompoundPart;
 import net.silentchaos512.gear.gear.part.PartData;
 import net.silentchaos512.gear.gear.part.PartManager;
 import net.silentchaos512.gear.gear.trait.EnchantmentTrait;
+import net.silentchaos512.gear.gear.trait.TraitHook;
 import net.silentchaos512.gear.item.CompoundPartItem;
-import net.silentchaos512.lib.collection.StackList;
 import net.silentchaos512.lib.util.NameUtils;
 import net.silentchaos512.utils.Color;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
 /**
@@ -65,6 +77,14 @@ public final class GearData {
     private static final String NBT_BROKEN_COUNT = "BrokenCount";
     private static final String NBT_REPAIR_COUNT = "RepairCount";
     private static final String NBT_STATS = "Stats";
+    private static final String NBT_FINGERPRINT = "Fingerprint";
+    private static final String NBT_LAZY_STATS = "LazyStats";
+
+    // Changes whenever data which affects stats is reloaded. Starts at a random value so that
+    // fingerprints written in earlier sessions never match.
+    private static final AtomicInteger DATA_GENERATION = new AtomicInteger(new Random().nextInt());
+    private static final AtomicLong SKIPPED_RECALCULATIONS = new AtomicLong();
+    private static final AtomicLong EXECUTED_RECALCULATIONS = new AtomicLong();
 
     private GearData() {
         throw new IllegalAccessError("Utility class");
@@ -93,28 +113,108 @@ public final class GearData {
         try {
             tryRecalculateStats(gear, player);
         } catch (Throwable ex) {
-            CrashReport report = CrashReport.makeCrashReport(ex, "Failed to recalculate gear properties");
+            throw reportRecalculationFailure(gear, ex);
+        }
+    }
+
+    /**
+     * Recalculates the stats of many gear items at once. The pure part of the calculation (parts,
+     * stat modifiers, and computing stat values) runs in parallel on the server worker threads.
+     * Trait callbacks and NBT writes are done on the calling thread, in the order of the collection.
+     * The results are the same as calling {@link #recalculateStats(ItemStack, PlayerEntity)} on
+     * each item.
+     * <p>
+     * If anything listens for {@link GetStatModifierEvent}, {@link GetMaterialStatsEvent}, {@link
+     * GetGearStatModifiersEvent}, or {@link GetTraitsEvent}, everything runs on the calling thread
+     * instead, so those listeners are never called from worker threads.
+     *
+     * @param gears  The gear items
+     * @param player The player who has the items, or null
+     * @since 2.6.28
+     */
+    public static void recalculateStatsBulk(Collection<ItemStack> gears, @Nullable PlayerEntity player) {
+        List<Recalculation> pending = new ArrayList<>(gears.size());
+        for (ItemStack gear : gears) {
+            try {
+                Recalculation recalculation = prepareRecalculation(gear, player);
+                if (recalculation != null) {
+                    pending.add(recalculation);
+                }
+            } catch (Throwable ex) {
+                throw reportRecalculationFailure(gear, ex);
+            }
+        }
 
-            CrashReportCategory itemCategory = report.makeCategory("Gear Item");
-            itemCategory.addDetail("Name", gear.getDisplayName().getString() + " (" + NameUtils.fromItem(gear) + ")");
-            itemCategory.addDetail("Data", gear.getOrCreateTag().toString());
+        if (pending.size() > 1 && !hasStatEventListeners()) {
+            CompletableFuture<?>[] futures = pending.stream()
+                    .map(r -> CompletableFuture.runAsync(r::tryCompute, Util.getServerExecutor()))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).join();
+        } else {
+            pending.forEach(Recalculation::tryCompute);
+        }
 
-            throw new ReportedException(report);
+        for (Recalculation recalculation : pending) {
+            try {
+                if (recalculation.failure != null) {
+                    throw recalculation.failure;
+                }
+                recalculation.apply();
+            } catch (Throwable ex) {
+                throw reportRecalculationFailure(recalculation.gear, ex);
+            }
         }
     }
 
-    @SuppressWarnings({"OverlyLongMethod", "OverlyComplexMethod"})
+    private static boolean hasStatEventListeners() {
+        return GetStatModifierEvent.hasListeners()
+                || GetMaterialStatsEvent.hasListeners()
+                || GetGearStatModifiersEvent.hasListeners()
+                || GetTraitsEvent.hasListeners();
+    }
+
+    private static ReportedException reportRecalculationFailure(ItemStack gear, Throwable ex) {
+        CrashReport report = CrashReport.makeCrashReport(ex, "Failed to recalculate gear properties");
+
+        CrashReportCategory itemCategory = report.makeCategory("Gear Item");
+        itemCategory.addDetail("Name", gear.getDisplayName().getString() + " (" + NameUtils.fromItem(gear) + ")");
+        itemCategory.addDetail("Data", gear.getOrCreateTag().toString());
+
+        return new ReportedException(report);
+    }
+
     private static void tryRecalculateStats(ItemStack gear, @Nullable PlayerEntity player) {
-        if (checkNonGearItem(gear, "recalculateStats")) return;
+        Recalculation recalculation = prepareRecalculation(gear, player);
+        if (recalculation != null) {
+            recalculation.compute();
+            recalculation.apply();
+        }
+    }
+
+    /**
+     * Runs the recalculation steps which must happen before stats are computed: pre-recalculation
+     * trait hooks, then checking whether stats should be recalculated at all.
+     *
+     * @return The recalculation to compute and apply, or null if stats should not be recalculated
+     */
+    @Nullable
+    private static Recalculation prepareRecalculation(ItemStack gear, @Nullable PlayerEntity player) {
+        if (checkNonGearItem(gear, "recalculateStats")) return null;
 
         getUUID(gear);
 
-        TraitHelper.activateTraits(gear, 0f, (trait, level, value) -> {
+        // Always called, traits may depend on the player or change the item
+        TraitHelper.activateTraits(gear, 0f, TraitHook.RECALCULATE_PRE, (trait, level, value) -> {
             trait.onRecalculatePre(new TraitActionContext(player, level, gear));
             return 0f;
         });
 
-        ICoreItem item = (ICoreItem) gear.getItem();
+        if (isFingerprintCurrent(gear)) {
+            // Nothing which affects stats has changed since the last recalculation
+            SKIPPED_RECALCULATIONS.incrementAndGet();
+            return null;
+        }
+
         PartDataList parts = getConstructionParts(gear);
 
         CompoundNBT propertiesCompound = getData(gear, NBT_ROOT_PROPERTIES);
@@ -128,63 +228,225 @@ public final class GearData {
             if (player != null) {
                 SilentGear.LOGGER.debug("Recalculating for {}'s {}", player.getScoreboardName(), gear.getDisplayName().getString());
             }
+            EXECUTED_RECALCULATIONS.incrementAndGet();
             clearCachedData(gear);
             propertiesCompound.putString("ModVersion", SilentGear.getVersion());
-            Map<ITrait, Integer> traits = TraitHelper.getTraits(gear, item.getGearType(), parts);
+            return new Recalculation(gear, player, parts, propertiesCompound);
+        }
+
+        String playerName = player != null ? player.getScoreboardName() : "null";
+        SilentGear.LOGGER.debug("Not recalculating stats for {}'s {}", playerName, gear);
+        // Update rendering info even if we didn't update stats
+        updateRenderingInfo(gear, parts);
+        return null;
+    }
+
+    /**
+     * A single stat recalculation, split into a pure compute step which only reads the item, and an
+     * apply step which activates traits and writes NBT. Only the compute step may be run off the
+     * thread which owns the item.
+     */
+    private static final class Recalculation {
+        private final ItemStack gear;
+        @Nullable private final PlayerEntity player;
+        private final ICoreItem item;
+        private final PartDataList parts;
+        private final CompoundNBT propertiesCompound;
+        private final boolean lazy;
+
+        private Map<ITrait, Integer> traits;
+        private StatModifierMap stats;
+        private ItemStat[] computedStats;
+        private float[] initialValues;
+        @Nullable private Throwable failure;
+
+        private Recalculation(ItemStack gear, @Nullable PlayerEntity player, PartDataList parts, CompoundNBT propertiesCompound) {
+            this.gear = gear;
+            this.player = player;
+            this.item = (ICoreItem) gear.getItem();
+            this.parts = parts;
+            this.propertiesCompound = propertiesCompound;
+            this.lazy = Config.Common.lazyStats.get();
+        }
+
+        private void tryCompute() {
+            try {
+                compute();
+            } catch (Throwable ex) {
+                failure = ex;
+            }
+        }
+
+        private void compute() {
+            final GearType gearType = item.getGearType();
+            // Materials and traits of each part are decoded once and shared by all stats
+            GearBuildContext context = GearBuildContext.of(gear, parts);
+            traits = TraitHelper.getTraits(gear, gearType, parts, context);
+
+            if (lazy) {
+                // Stats are computed when they are first read, see LazyStatCache
+                return;
+            }
 
             // Get all stat modifiers from all parts and item class modifiers
-            StatModifierMap stats = getStatModifiers(gear, item, parts);
+            stats = getStatModifiers(gear, item, parts, context);
+
+            computedStats = stats.getStats().toArray(new ItemStat[0]);
+            initialValues = new float[computedStats.length];
+            for (int i = 0; i < computedStats.length; ++i) {
+                initialValues[i] = computeInitialValue(computedStats[i], gearType, stats);
+            }
+        }
 
+        private void apply() {
             // For debugging
             Map<ItemStat, Float> oldStatValues = getCurrentStatsForDebugging(gear);
 
-            // Calculate and write stats
+            // Write stats
             int maxDamage = gear.getMaxDamage() > 0 ? gear.getMaxDamage() : 1;
             final float damageRatio = MathHelper.clamp((float) gear.getDamage() / maxDamage, 0f, 1f);
-            CompoundNBT statsCompound = new CompoundNBT();
-            for (ItemStat stat : stats.getStats()) {
-                StatGearKey key = StatGearKey.of(stat, item.getGearType());
-                Collection<StatInstance> modifiers = stats.get(key);
-                GearType statGearType = stats.getMostSpecificKey(key).getGearType();
-
-                final float initialValue = stat.compute(stat.getBaseValue(), true, item.getGearType(), statGearType, modifiers);
-                // Allow traits to modify stat
-                final float withTraits = TraitHelper.activateTraits(gear, initialValue, (trait, level, val) -> {
-                    TraitActionContext context = new TraitActionContext(player, level, gear);
-                    return trait.onGetStat(context, stat, val, damageRatio);
-                });
-                final float value = Config.Common.getStatWithMultiplier(stat, withTraits);
-                // SilentGear.log.debug(stat, value);
-                ResourceLocation statId = Objects.requireNonNull(stat.getRegistryName());
-                propertiesCompound.remove(statId.getPath()); // Remove old keys
-                statsCompound.putFloat(statId.toString(), stat.clampValue(value));
+            INBT statsTag;
+            if (lazy) {
+                // Leave the stats compound empty, the damage ratio is kept for computing stats later
+                propertiesCompound.putFloat(NBT_LAZY_STATS, damageRatio);
+                statsTag = new CompoundNBT();
+            } else {
+                propertiesCompound.remove(NBT_LAZY_STATS);
+                float[] values = new float[computedStats.length];
+                for (int i = 0; i < computedStats.length; ++i) {
+                    ItemStat stat = computedStats[i];
+                    values[i] = applyTraitsToStat(gear, player, stat, initialValues[i], damageRatio);
+                    // SilentGear.log.debug(stat, value);
+                    ResourceLocation statId = Objects.requireNonNull(stat.getRegistryName());
+                    propertiesCompound.remove(statId.getPath()); // Remove old keys
+                }
+                statsTag = writeStats(computedStats, values);
+            }
+            INBT oldStatsTag = propertiesCompound.get(NBT_STATS);
+            if (oldStatsTag != null) {
+                StatSnapshotCache.invalidate(oldStatsTag);
             }
-            propertiesCompound.put(NBT_STATS, statsCompound);
+            propertiesCompound.put(NBT_STATS, statsTag);
 
-            if (player != null) {
+            if (player != null && !lazy) {
                 printStatsForDebugging(gear, stats, oldStatValues);
             }
 
             // Cache traits in properties compound as well
-            ListNBT traitList = new ListNBT();
-            traits.forEach((trait, level) -> traitList.add(trait.write(level)));
-            propertiesCompound.put("Traits", traitList);
+            propertiesCompound.put("Traits", writeTraits(traits));
 
             propertiesCompound.remove(NBT_SYNERGY);
 
             // Remove trait-added enchantments then let traits re-add them
             EnchantmentTrait.removeTraitEnchantments(gear);
-            TraitHelper.activateTraits(gear, 0f, (trait, level, value) -> {
+            TraitHelper.activateTraits(gear, 0f, TraitHook.RECALCULATE_POST, (trait, level, value) -> {
                 trait.onRecalculatePost(new TraitActionContext(player, level, gear));
                 return 0f;
             });
-        } else {
-            String playerName = player != null ? player.getScoreboardName() : "null";
-            SilentGear.LOGGER.debug("Not recalculating stats for {}'s {}", playerName, gear);
+
+            // Computed last, as traits may have changed the item (enchantments)
+            propertiesCompound.putLong(NBT_FINGERPRINT, getFingerprint(gear, propertiesCompound));
+
+            updateRenderingInfo(gear, parts);
         }
+    }
 
-        // Update rendering info even if we didn't update stats
-        updateRenderingInfo(gear, parts);
+    private static INBT writeTraits(Map<ITrait, Integer> traits) {
+        if (Config.Common.packedTraits.get()) {
+            IntArrayNBT packed = PackedTraits.pack(traits);
+            if (packed != null) {
+                return packed;
+            }
+        }
+
+        ListNBT traitList = new ListNBT();
+        traits.forEach((trait, level) -> traitList.add(trait.write(level)));
+        return traitList;
+    }
+
+    private static INBT writeStats(ItemStat[] stats, float[] values) {
+        if (Config.Common.packedStats.get()) {
+            IntArrayNBT packed = PackedStats.pack(stats, values);
+            if (packed != null) {
+                return packed;
+            }
+        }
+
+        CompoundNBT statsCompound = new CompoundNBT();
+        for (int i = 0; i < stats.length; ++i) {
+            statsCompound.putFloat(Objects.requireNonNull(stats[i].getRegistryName()).toString(), values[i]);
+        }
+        return statsCompound;
+    }
+
+    static float computeInitialValue(ItemStat stat, GearType gearType, StatModifierMap stats) {
+        StatGearKey key = StatGearKey.of(stat, gearType);
+        Collection<StatInstance> modifiers = stats.get(key);
+        GearType statGearType = stats.getMostSpecificKey(key).getGearType();
+        return stat.compute(stat.getBaseValue(), true, gearType, statGearType, modifiers);
+    }
+
+    static float applyTraitsToStat(ItemStack gear, @Nullable PlayerEntity player, ItemStat stat, float initialValue, float damageRatio) {
+        // Allow traits to modify stat
+        final float withTraits = TraitHelper.activateTraits(gear, initialValue, TraitHook.GET_STAT, (trait, level, val) -> {
+            TraitActionContext context = new TraitActionContext(player, level, gear);
+            return trait.onGetStat(context, stat, val, damageRatio);
+        });
+        final float value = Config.Common.getStatWithMultiplier(stat, withTraits);
+        return stat.clampValue(value);
+    }
+
+    private static boolean isFingerprintCurrent(ItemStack gear) {
+        CompoundNBT propertiesCompound = getData(gear, NBT_ROOT_PROPERTIES);
+        return propertiesCompound.contains(NBT_FINGERPRINT, Constants.NBT.TAG_LONG)
+                && propertiesCompound.contains(NBT_STATS)
+                && propertiesCompound.getLong(NBT_FINGERPRINT) == getFingerprint(gear, propertiesCompound);
+    }
+
+    /**
+     * Hashes everything which affects the result of a stat recalculation: construction parts,
+     * damage level (for traits which factor in damage), stat lock, enchantments, and the data
+     * generation.
+     */
+    private static long getFingerprint(ItemStack gear, CompoundNBT propertiesCompound) {
+        ListNBT parts = getData(gear, NBT_ROOT_CONSTRUCTION).getList(NBT_CONSTRUCTION_PARTS, Constants.NBT.TAG_COMPOUND);
+        int inputs = Objects.hash(
+                GearHelper.getDamageFactor(gear, gear.getMaxDamage()),
+                GearHelper.isBroken(gear),
+                propertiesCompound.getBoolean(NBT_LOCK_STATS),
+                gear.getEnchantmentTagList(),
+                DATA_GENERATION.get());
+        return ((long) parts.hashCode() << 32) | (inputs & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Forces the next stat recalculation of every gear item to run, even if its parts have not
+     * changed. Call this whenever data or configs which affect stats are loaded.
+     *
+     * @since 2.6.28
+     */
+    public static void invalidateRecalculationFingerprints() {
+        DATA_GENERATION.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of stat recalculations skipped because nothing had changed, for profiling
+     *
+     * @return Skipped recalculations this session
+     * @since 2.6.28
+     */
+    public static long getSkippedRecalculationCount() {
+        return SKIPPED_RECALCULATIONS.get();
+    }
+
+    /**
+     * Gets the number of stat recalculations which were actually done, for profiling
+     *
+     * @return Executed recalculations this session
+     * @since 2.6.28
+     */
+    public static long getExecutedRecalculationCount() {
+        return EXECUTED_RECALCULATIONS.get();
     }
 
     @Nullable
@@ -258,27 +520,56 @@ public final class GearData {
     }
 
     public static StatModifierMap getStatModifiers(ItemStack stack, ICoreItem item, PartDataList parts) {
+        return getStatModifiers(stack, item, parts, GearBuildContext.of(stack, parts));
+    }
+
+    public static StatModifierMap getStatModifiers(ItemStack stack, ICoreItem item, PartDataList parts, GearBuildContext context) {
         GearType gearType = item.getGearType();
-        StatModifierMap stats = new StatModifierMap();
+        StatModifierTable.Builder builder = StatModifierTable.builder();
 
         for (ItemStat stat : ItemStats.allStatsOrderedExcluding(item.getExcludedStats(stack))) {
             StatGearKey itemKey = StatGearKey.of(stat, gearType);
 
             for (PartData part : parts) {
-                for (StatInstance mod : part.getStatModifiers(itemKey, stack)) {
-                    StatInstance modCopy = StatInstance.of(mod.getValue(), mod.getOp(), itemKey);
-                    stats.put(modCopy.getKey(), modCopy);
+                for (StatInstance mod : part.getStatModifiers(itemKey, stack, context)) {
+                    // Values are copied into the table, no need to create new stat instances
+                    builder.add(stat, gearType, mod.getValue(), mod.getOp());
                 }
             }
         }
 
-        return stats;
+        StatModifierTable table = builder.build();
+        if (GetGearStatModifiersEvent.hasListeners()) {
+            GetGearStatModifiersEvent event = new GetGearStatModifiersEvent(stack, gearType, parts, table);
+            MinecraftForge.EVENT_BUS.post(event);
+            table = event.getModifiers();
+        }
+        return StatModifierMap.of(table);
     }
 
     public static float getStat(ItemStack stack, IItemStat stat) {
-        CompoundNBT tags = getData(stack, NBT_ROOT_PROPERTIES).getCompound(NBT_STATS);
-        String key = stat.getStatId().toString();
-        return tags.contains(key) ? tags.getFloat(key) : stat.getDefaultValue();
+        CompoundNBT propertiesCompound = getData(stack, NBT_ROOT_PROPERTIES);
+        if (!propertiesCompound.contains(NBT_STATS)) {
+            return stat.getDefaultValue();
+        }
+
+        INBT tags = propertiesCompound.get(NBT_STATS);
+        if (stat instanceof ItemStat && tags instanceof CompoundNBT && propertiesCompound.contains(NBT_LAZY_STATS)) {
+            // Stats were not computed during recalculation, compute this one now
+            float damageRatio = propertiesCompound.getFloat(NBT_LAZY_STATS);
+            return LazyStatCache.get(stack, (CompoundNBT) tags, (ItemStat) stat, damageRatio, DATA_GENERATION.get());
+        }
+        if (stat instanceof ItemStat) {
+            // Fast path, reads from a decoded snapshot of the stats compound or packed stats
+            return StatSnapshotCache.get(tags, (ItemStat) stat);
+        }
+
+        if (tags instanceof CompoundNBT) {
+            String key = stat.getStatId().toString();
+            CompoundNBT statsCompound = (CompoundNBT) tags;
+            return statsCompound.contains(key) ? statsCompound.getFloat(key) : stat.getDefaultValue();
+        }
+        return stat.getDefaultValue();
     }
 
     public static int getStatInt(ItemStack stack, IItemStat stat) {
@@ -727,14 +1018,36 @@ public final class GearData {
         @SubscribeEvent
         public static void onPlayerLoggedIn(PlayerLoggedInEvent event) {
             PlayerEntity player = event.getPlayer();
-            StackList.from(player.inventory)
-                    .stream()
-                    .filter(s -> s.getItem() instanceof ICoreItem)
-                    .forEach(s -> recalculateStats(s, player));
+            PlayerInventory inventory = player.inventory;
+
+            // Equipped items are recalculated immediately, everything else can wait a few ticks
+            List<ItemStack> equipped = new ArrayList<>();
+            for (int i = 0; i < inventory.mainInventory.size(); ++i) {
+                ItemStack stack = inventory.mainInventory.get(i);
+                if (stack.getItem() instanceof ICoreItem) {
+                    if (i == inventory.currentItem) {
+                        equipped.add(stack);
+                    } else {
+                        GearRecalculationQueue.enqueue(stack, player);
+                    }
+                }
+            }
+            for (ItemStack stack : inventory.armorInventory) {
+                if (stack.getItem() instanceof ICoreItem) {
+                    equipped.add(stack);
+                }
+            }
+            for (ItemStack stack : inventory.offHandInventory) {
+                if (stack.getItem() instanceof ICoreItem) {
+                    equipped.add(stack);
+                }
+            }
 
             if (ModList.get().isLoaded(Const.CURIOS)) {
-                CuriosCompat.getEquippedCurios(player).forEach(s -> recalculateStats(s, player));
+                equipped.addAll(CuriosCompat.getEquippedCurios(player));
             }
+
+            recalculateStatsBulk(equipped, player);
         }
     }
 }
@@ -45,6 +45,7 @@ import net.silentchaos512.gear.crafting.ingredient.IGearIngredient;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.gear.part.PartData;
 import net.silentchaos512.gear.gear.part.PartManager;
+import net.silentchaos512.gear.gear.trait.TraitHook;
 import net.silentchaos512.lib.advancements.LibTriggers;
 
 import javax.annotation.Nullable;
@@ -149,7 +150,7 @@ public final class GearHelper {
             });
         }
 
-        TraitHelper.getCachedTraits(stack).forEach((trait, level) -> trait.onGetAttributeModifiers(new TraitActionContext(null, level, stack), map, slot));
+        TraitHelper.getCachedTraits(stack, TraitHook.GET_ATTRIBUTE_MODIFIERS).forEach((trait, level) -> trait.onGetAttributeModifiers(new TraitActionContext(null, level, stack), map, slot));
 
         return map;
     }
@@ -204,7 +205,7 @@ public final class GearHelper {
 
         ServerPlayerEntity player = entity instanceof ServerPlayerEntity ? (ServerPlayerEntity) entity : null;
         final int preTraitAmount = amount;
-        amount = (int) TraitHelper.activateTraits(stack, preTraitAmount, (trait, level, val) ->
+        amount = (int) TraitHelper.activateTraits(stack, preTraitAmount, TraitHook.DURABILITY_DAMAGE, (trait, level, val) ->
                 trait.onDurabilityDamage(new TraitActionContext(player, level, stack), (int) val));
 
         final int maxDamage = stack.getMaxDamage();
@@ -276,7 +277,7 @@ public final class GearHelper {
         }
     }
 
-    private static int getDamageFactor(ItemStack stack, int maxDamage) {
+    static int getDamageFactor(ItemStack stack, int maxDamage) {
         if (maxDamage == 0) return 1;
         int levels = Config.Common.damageFactorLevels.get();
         int step = Math.max(1, maxDamage / (levels < 1 ? 10 : levels));
@@ -335,7 +336,7 @@ public final class GearHelper {
             preTraitValue = amount;
         }
 
-        final int value = (int) TraitHelper.activateTraits(stack, preTraitValue, (trait, level, val) ->
+        final int value = (int) TraitHelper.activateTraits(stack, preTraitValue, TraitHook.DURABILITY_DAMAGE, (trait, level, val) ->
                 trait.onDurabilityDamage(new TraitActionContext(null, level, stack), (int) val));
         GearHelper.damageParts(stack, value);
         return value;
@@ -463,7 +464,7 @@ public final class GearHelper {
 
     public static ActionResultType onItemUse(ItemUseContext context) {
         ActionResultType ret = ActionResultType.PASS;
-        Map<ITrait, Integer> traits = TraitHelper.getCachedTraits(context.getItem());
+        Map<ITrait, Integer> traits = TraitHelper.getCachedTraits(context.getItem(), TraitHook.ITEM_USE);
         for (Map.Entry<ITrait, Integer> entry : traits.entrySet()) {
             ActionResultType result = entry.getKey().onItemUse(context, entry.getValue());
             if (result != ActionResultType.PASS) {
@@ -481,7 +482,7 @@ public final class GearHelper {
             return;
         }
 
-        Map<ITrait, Integer> traits = TraitHelper.getCachedTraits(stack);
+        Map<ITrait, Integer> traits = TraitHelper.getCachedTraits(stack, TraitHook.ITEM_SWING);
         for (Map.Entry<ITrait, Integer> entry : traits.entrySet()) {
             entry.getKey().onItemSwing(stack, wielder, entry.getValue());
         }
@@ -0,0 +1,134 @@
+package net.silentchaos512.gear.util;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent.PlayerLoggedOutEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.config.Config;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Spreads stat recalculations of gear over several server ticks, so that many players logging in
+ * at once do not cause lag spikes. Each tick, queued items are recalculated until the time budget
+ * set in the config is used up. Should only be used on the server thread.
+ *
+ * @since 2.6.28
+ */
+public final class GearRecalculationQueue {
+    private static final Deque<Entry> QUEUE = new ArrayDeque<>();
+
+    private static long totalDrained;
+    private static int lastTickDrained;
+    private static float averageDrainRate;
+
+    private GearRecalculationQueue() {
+        throw new IllegalAccessError("Utility class");
+    }
+
+    /**
+     * Queues a gear item for stat recalculation. If the tick budget is set to zero, stats are
+     * recalculated immediately instead.
+     *
+     * @param gear   The gear item
+     * @param player The player who has the item
+     */
+    public static void enqueue(ItemStack gear, PlayerEntity player) {
+        if (Config.Common.loginRecalculationBudget.get() <= 0) {
+            GearData.recalculateStats(gear, player);
+        } else {
+            QUEUE.add(new Entry(gear, player));
+        }
+    }
+
+    /**
+     * Gets the number of gear items waiting for recalculation
+     *
+     * @return The queue depth
+     */
+    public static int getQueueDepth() {
+        return QUEUE.size();
+    }
+
+    /**
+     * Gets the number of gear items recalculated from the queue on the last server tick
+     *
+     * @return Items drained last tick
+     */
+    public static int getLastTickDrained() {
+        return lastTickDrained;
+    }
+
+    /**
+     * Gets the total number of gear items recalculated from the queue this session
+     *
+     * @return Total items drained
+     */
+    public static long getTotalDrained() {
+        return totalDrained;
+    }
+
+    /**
+     * Gets an exponential moving average of the number of gear items recalculated per tick
+     *
+     * @return Average items drained per tick
+     */
+    public static float getAverageDrainRate() {
+        return averageDrainRate;
+    }
+
+    private static void drain() {
+        int drained = 0;
+
+        if (!QUEUE.isEmpty()) {
+            final long budget = Config.Common.loginRecalculationBudget.get() * 1_000_000L;
+            final long start = System.nanoTime();
+
+            // Always do at least one item, so the queue drains even if the budget is too small
+            do {
+                Entry entry = QUEUE.poll();
+                // Item may have been used up or replaced since it was queued
+                if (!entry.gear.isEmpty() && GearHelper.isGear(entry.gear)) {
+                    GearData.recalculateStats(entry.gear, entry.player);
+                }
+                ++drained;
+            } while (!QUEUE.isEmpty() && System.nanoTime() - start < budget);
+        }
+
+        lastTickDrained = drained;
+        totalDrained += drained;
+        averageDrainRate = 0.95f * averageDrainRate + 0.05f * drained;
+    }
+
+    private static final class Entry {
+        private final ItemStack gear;
+        private final PlayerEntity player;
+
+        private Entry(ItemStack gear, PlayerEntity player) {
+            this.gear = gear;
+            this.player = player;
+        }
+    }
+
+    @Mod.EventBusSubscriber(modid = SilentGear.MOD_ID)
+    public static final class EventHandler {
+        private EventHandler() { }
+
+        @SubscribeEvent
+        public static void onServerTick(TickEvent.ServerTickEvent event) {
+            if (event.phase == TickEvent.Phase.END) {
+                drain();
+            }
+        }
+
+        @SubscribeEvent
+        public static void onPlayerLoggedOut(PlayerLoggedOutEvent event) {
+            PlayerEntity player = event.getPlayer();
+            QUEUE.removeIf(entry -> entry.player == player);
+        }
+    }
+}
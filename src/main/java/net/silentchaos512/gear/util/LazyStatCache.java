@@ -0,0 +1,95 @@
+package net.silentchaos512.gear.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.CompoundNBT;
+import net.silentchaos512.gear.api.item.ICoreItem;
+import net.silentchaos512.gear.api.stats.ItemStat;
+import net.silentchaos512.gear.api.stats.ItemStats;
+import net.silentchaos512.gear.api.stats.StatModifierMap;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Computes the stats of gear which was recalculated in lazy mode (see {@code lazyStats} in the
+ * config). Recalculation leaves the stats compound empty. The first time any stat is read, the stat
+ * modifiers of the item are collected. Each stat is then computed the first time it is read and
+ * memoized. Like {@link StatSnapshotCache}, entries are keyed by the identity of the stats
+ * compound, which is replaced on every recalculation.
+ */
+final class LazyStatCache {
+    private static final Cache<CompoundNBT, Entry> CACHE = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    private LazyStatCache() {
+        throw new IllegalAccessError("Utility class");
+    }
+
+    static float get(ItemStack gear, CompoundNBT statsCompound, ItemStat stat, float damageRatio, int generation) {
+        Entry entry = getEntry(statsCompound, generation);
+        synchronized (entry) {
+            return entry.get(gear, stat, damageRatio);
+        }
+    }
+
+    private static Entry getEntry(CompoundNBT statsCompound, int generation) {
+        Entry entry;
+        try {
+            entry = CACHE.get(statsCompound, () -> new Entry(generation));
+        } catch (ExecutionException ex) {
+            entry = new Entry(generation);
+        }
+
+        if (entry.generation != generation) {
+            // Data was reloaded, stats must be computed again
+            entry = new Entry(generation);
+            CACHE.put(statsCompound, entry);
+        }
+        return entry;
+    }
+
+    private static final class Entry {
+        private final int generation;
+        private final float[] values;
+        private final boolean[] computed;
+        private StatModifierMap modifiers;
+
+        private Entry(int generation) {
+            int statCount = ItemStats.getStatCount();
+            this.generation = generation;
+            this.values = new float[statCount];
+            this.computed = new boolean[statCount];
+        }
+
+        private float get(ItemStack gear, ItemStat stat, float damageRatio) {
+            int index = stat.getIndex();
+            if (index >= values.length || !(gear.getItem() instanceof ICoreItem)) {
+                return stat.getDefaultValue();
+            }
+            if (computed[index]) {
+                return values[index];
+            }
+
+            ICoreItem item = (ICoreItem) gear.getItem();
+            if (modifiers == null) {
+                modifiers = GearData.getStatModifiers(gear, item, GearData.getConstructionParts(gear));
+            }
+
+            if (!modifiers.getStats().contains(stat)) {
+                // Recalculation would not have written the stat either
+                values[index] = stat.getDefaultValue();
+                computed[index] = true;
+                return values[index];
+            }
+
+            float initialValue = GearData.computeInitialValue(stat, item.getGearType(), modifiers);
+            // Traits may read other stats, or even this one, which should not recurse forever
+            values[index] = initialValue;
+            computed[index] = true;
+            values[index] = GearData.applyTraitsToStat(gear, null, stat, initialValue, damageRatio);
+            return values[index];
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package net.silentchaos512.gear.util;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.nbt.IntArrayNBT;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.api.stats.ItemStat;
+import net.silentchaos512.gear.api.stats.ItemStats;
+
+import javax.annotation.Nullable;
+
+/**
+ * Packed representation of gear stats, stored as a single {@link IntArrayNBT} instead of a
+ * compound of named floats. The array starts with a format version, followed by one pair of ints
+ * per stat: the hash code of the stat ID string, and the raw bits of the value.
+ * <p>
+ * The hash acts as the header mapping each value to its stat. Hashes do not depend on the order
+ * stats are created in, so packed stats written in another session, or by a server which loaded
+ * mods in a different order, still decode correctly. Values of unknown stats are skipped.
+ */
+final class PackedStats {
+    private static final int FORMAT_VERSION = 1;
+
+    // Stats by ID hash, rebuilt if more stats are created
+    private static volatile Int2ObjectMap<ItemStat> statsByHash;
+    private static volatile int mappedStatCount = -1;
+    private static volatile boolean hashCollision;
+
+    private PackedStats() {
+        throw new IllegalAccessError("Utility class");
+    }
+
+    /**
+     * Packs stat values. Returns null if stats cannot be packed (two stat IDs have the same hash),
+     * in which case the stats compound should be used instead.
+     *
+     * @param stats  The stats
+     * @param values The stat values, in the same order as {@code stats}
+     * @return The packed stats, or null if they cannot be packed
+     */
+    @Nullable
+    static IntArrayNBT pack(ItemStat[] stats, float[] values) {
+        getStatsByHash();
+        if (hashCollision) {
+            return null;
+        }
+
+        int[] data = new int[1 + 2 * stats.length];
+        data[0] = FORMAT_VERSION;
+        for (int i = 0; i < stats.length; ++i) {
+            data[1 + 2 * i] = hash(stats[i]);
+            data[2 + 2 * i] = Float.floatToRawIntBits(values[i]);
+        }
+        return new IntArrayNBT(data);
+    }
+
+    /**
+     * Unpacks stat values into an array indexed by {@link ItemStat#getIndex()}. Stats which are
+     * not in the packed data are left unchanged.
+     *
+     * @param data   The packed stats
+     * @param values The array to store values in
+     */
+    static void unpack(int[] data, float[] values) {
+        if (data.length == 0 || data[0] != FORMAT_VERSION) {
+            return;
+        }
+
+        Int2ObjectMap<ItemStat> map = getStatsByHash();
+        for (int i = 1; i + 1 < data.length; i += 2) {
+            ItemStat stat = map.get(data[i]);
+            if (stat != null && stat.getIndex() < values.length) {
+                values[stat.getIndex()] = Float.intBitsToFloat(data[i + 1]);
+            }
+        }
+    }
+
+    private static int hash(ItemStat stat) {
+        return stat.getStatId().toString().hashCode();
+    }
+
+    private static Int2ObjectMap<ItemStat> getStatsByHash() {
+        Int2ObjectMap<ItemStat> map = statsByHash;
+        int statCount = ItemStats.getStatCount();
+        if (map == null || mappedStatCount != statCount) {
+            map = new Int2ObjectOpenHashMap<>();
+            boolean collision = false;
+            for (ItemStat stat : ItemStats.allStatsOrdered()) {
+                ItemStat other = map.put(hash(stat), stat);
+                if (other != null) {
+                    SilentGear.LOGGER.warn("Stats {} and {} have the same ID hash, stats will not be packed", stat.getStatId(), other.getStatId());
+                    collision = true;
+                }
+            }
+            hashCollision = collision;
+            statsByHash = map;
+            mappedStatCount = statCount;
+        }
+        return map;
+    }
+}
@@ -0,0 +1,123 @@
+package net.silentchaos512.gear.util;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.nbt.IntArrayNBT;
+import net.minecraft.util.ResourceLocation;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.api.traits.ITrait;
+import net.silentchaos512.gear.gear.trait.TraitManager;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Packed representation of the traits list of gear, stored as a single {@link IntArrayNBT} instead
+ * of a list of compounds with string IDs. Works like {@link PackedStats}: the array starts with a
+ * format version, followed by one pair of ints per trait, the hash code of the trait ID string and
+ * the level.
+ * <p>
+ * Hashes are used instead of indices of the loaded traits, so packed traits remain valid after
+ * restarts and reloads, and on clients which loaded traits in a different order. Entries of traits
+ * which are not loaded are skipped when reading.
+ */
+final class PackedTraits {
+    private static final int FORMAT_VERSION = 1;
+
+    // Traits which write extra data can only be stored in the old format
+    private static final ClassValue<Boolean> WRITES_EXTRA_DATA = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("write", int.class).getDeclaringClass() != ITrait.class;
+            } catch (NoSuchMethodException ex) {
+                return true;
+            }
+        }
+    };
+
+    // Loaded trait IDs by hash, rebuilt when traits are reloaded
+    private static volatile Int2ObjectMap<ResourceLocation> idsByHash;
+    private static volatile int mappedGeneration = -1;
+    private static volatile boolean hashCollision;
+
+    private PackedTraits() {
+        throw new IllegalAccessError("Utility class");
+    }
+
+    /**
+     * Packs traits. Returns null if they cannot be packed (a trait is not loaded, writes extra
+     * data, or two trait IDs have the same hash), in which case the traits list should be used
+     * instead.
+     *
+     * @param traits Traits and their levels
+     * @return The packed traits, or null if they cannot be packed
+     */
+    @Nullable
+    static IntArrayNBT pack(Map<ITrait, Integer> traits) {
+        Int2ObjectMap<ResourceLocation> map = getIdsByHash();
+        if (hashCollision) {
+            return null;
+        }
+
+        int[] data = new int[1 + 2 * traits.size()];
+        data[0] = FORMAT_VERSION;
+        int i = 1;
+        for (Map.Entry<ITrait, Integer> entry : traits.entrySet()) {
+            ITrait trait = entry.getKey();
+            int hash = hash(trait.getId());
+            if (!trait.getId().equals(map.get(hash)) || WRITES_EXTRA_DATA.get(trait.getClass())) {
+                return null;
+            }
+            data[i++] = hash;
+            // Same range as the level in the traits list
+            data[i++] = (byte) entry.getValue().intValue();
+        }
+        return new IntArrayNBT(data);
+    }
+
+    /**
+     * Unpacks traits, in the order they were packed.
+     *
+     * @param data   The packed traits
+     * @param action Accepts the ID and level of each trait which is loaded
+     */
+    static void unpack(int[] data, ObjIntConsumer<ResourceLocation> action) {
+        if (data.length == 0 || data[0] != FORMAT_VERSION) {
+            return;
+        }
+
+        Int2ObjectMap<ResourceLocation> map = getIdsByHash();
+        for (int i = 1; i + 1 < data.length; i += 2) {
+            ResourceLocation id = map.get(data[i]);
+            if (id != null) {
+                action.accept(id, data[i + 1]);
+            }
+        }
+    }
+
+    private static int hash(ResourceLocation traitId) {
+        return traitId.toString().hashCode();
+    }
+
+    private static Int2ObjectMap<ResourceLocation> getIdsByHash() {
+        Int2ObjectMap<ResourceLocation> map = idsByHash;
+        int generation = TraitListCache.getGeneration();
+        if (map == null || mappedGeneration != generation) {
+            map = new Int2ObjectOpenHashMap<>();
+            boolean collision = false;
+            for (ResourceLocation id : TraitManager.getKeys()) {
+                ResourceLocation other = map.put(hash(id), id);
+                if (other != null) {
+                    SilentGear.LOGGER.warn("Traits {} and {} have the same ID hash, traits will not be packed", id, other);
+                    collision = true;
+                }
+            }
+            hashCollision = collision;
+            idsByHash = map;
+            mappedGeneration = generation;
+        }
+        return map;
+    }
+}
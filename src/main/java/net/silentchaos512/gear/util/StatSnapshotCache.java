@@ -0,0 +1,80 @@
+package net.silentchaos512.gear.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.INBT;
+import net.minecraft.nbt.IntArrayNBT;
+import net.silentchaos512.gear.api.stats.ItemStat;
+import net.silentchaos512.gear.api.stats.ItemStats;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Transient cache of decoded gear stats. The stats tag of a gear item is replaced (never modified)
+ * whenever stats are recalculated, so the tag instance itself is used as the key. Copying a stack,
+ * receiving it over the network, or recalculating its stats produces a new tag, which naturally
+ * invalidates the old snapshot. Keys are weak and compared by identity, so snapshots are dropped
+ * along with their stacks.
+ * <p>
+ * The tag is either a compound of named floats, or an int array written by {@link PackedStats}.
+ * Both are decoded into the same snapshot, so stacks in either format can be read.
+ */
+final class StatSnapshotCache {
+    private static final Cache<INBT, float[]> CACHE = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    private StatSnapshotCache() {
+        throw new IllegalAccessError("Utility class");
+    }
+
+    static float get(INBT statsTag, ItemStat stat) {
+        float[] values = getSnapshot(statsTag);
+        int index = stat.getIndex();
+        if (index < values.length) {
+            return values[index];
+        }
+        // Stat was created after the snapshot was taken (should not happen after mod loading)
+        if (statsTag instanceof CompoundNBT) {
+            CompoundNBT statsCompound = (CompoundNBT) statsTag;
+            String key = stat.getStatId().toString();
+            return statsCompound.contains(key) ? statsCompound.getFloat(key) : stat.getDefaultValue();
+        }
+        return stat.getDefaultValue();
+    }
+
+    static void invalidate(INBT statsTag) {
+        CACHE.invalidate(statsTag);
+    }
+
+    private static float[] getSnapshot(INBT statsTag) {
+        try {
+            return CACHE.get(statsTag, () -> decode(statsTag));
+        } catch (ExecutionException ex) {
+            return decode(statsTag);
+        }
+    }
+
+    private static float[] decode(INBT statsTag) {
+        Collection<ItemStat> stats = ItemStats.allStatsOrdered();
+        float[] values = new float[stats.size()];
+        for (ItemStat stat : stats) {
+            values[stat.getIndex()] = stat.getDefaultValue();
+        }
+
+        if (statsTag instanceof IntArrayNBT) {
+            PackedStats.unpack(((IntArrayNBT) statsTag).getIntArray(), values);
+        } else if (statsTag instanceof CompoundNBT) {
+            CompoundNBT statsCompound = (CompoundNBT) statsTag;
+            for (ItemStat stat : stats) {
+                String key = stat.getStatId().toString();
+                if (statsCompound.contains(key)) {
+                    values[stat.getIndex()] = statsCompound.getFloat(key);
+                }
+            }
+        }
+        return values;
+    }
+}
@@ -1,21 +1,31 @@
 package net.silentchaos512.gear.util;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.Util;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.StringTextComponent;
 import net.minecraft.util.text.TextFormatting;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.api.event.GetMaterialStatsEvent;
+import net.silentchaos512.gear.api.material.IMaterial;
 import net.silentchaos512.gear.api.material.IMaterialInstance;
+import net.silentchaos512.gear.api.part.MaterialGrade;
 import net.silentchaos512.gear.api.part.PartType;
 import net.silentchaos512.gear.api.stats.ItemStats;
 import net.silentchaos512.gear.api.traits.TraitInstance;
+import net.silentchaos512.gear.gear.material.MaterialInstance;
+import net.silentchaos512.gear.gear.material.MaterialManager;
 import net.silentchaos512.gear.gear.trait.SynergyTrait;
 
-import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class SynergyUtils {
     /**
@@ -26,6 +36,13 @@ public final class SynergyUtils {
     private static final double MIN_VALUE = 0.1;
     public static final double MAX_VALUE = 2.0;
 
+    // Synergy of material combinations, before traits are applied
+    private static final Cache<SynergyKey, Double> MATERIAL_SYNERGY_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(50_000)
+            .build();
+    // Incremented when the cache is cleared, so that values computed from old materials are never used
+    private static final AtomicInteger CACHE_GENERATION = new AtomicInteger();
+
     private SynergyUtils() {}
 
     public static float getSynergy(PartType partType, List<? extends IMaterialInstance> materials, Collection<TraitInstance> traits) {
@@ -36,38 +53,143 @@ public final class SynergyUtils {
             return 1;
         }
 
+        double synergy = getMaterialSynergy(CACHE_GENERATION.get(), partType, materials);
+
+        // Synergy traits
+        for (TraitInstance trait : traits) {
+            if (trait.getTrait() instanceof SynergyTrait) {
+                synergy = ((SynergyTrait) trait.getTrait()).apply(synergy, trait.getLevel());
+            }
+        }
+
+        return (float) MathHelper.clamp(synergy, MIN_VALUE, MAX_VALUE);
+    }
+
+    private static double getMaterialSynergy(int generation, PartType partType, List<? extends IMaterialInstance> materials) {
+        SynergyKey key = SynergyKey.of(generation, partType, materials);
+        if (key == null) {
+            return computeMaterialSynergy(partType, materials);
+        }
+
+        Double cached = MATERIAL_SYNERGY_CACHE.getIfPresent(key);
+        if (cached == null) {
+            cached = computeMaterialSynergy(partType, materials);
+            MATERIAL_SYNERGY_CACHE.put(key, cached);
+        }
+        return cached;
+    }
+
+    private static double computeMaterialSynergy(PartType partType, List<? extends IMaterialInstance> materials) {
+        // Index of the last instance of each material, in order of first appearance (same as getUniques)
+        Map<ResourceLocation, Integer> uniques = new LinkedHashMap<>();
+        float[] rarities = new float[materials.size()];
+        int[] tiers = new int[materials.size()];
+        double maxRarity = Double.NEGATIVE_INFINITY;
+        int maxTier = Integer.MIN_VALUE;
+
+        for (int i = 0; i < materials.size(); ++i) {
+            IMaterialInstance material = materials.get(i);
+            uniques.put(material.getId(), i);
+            rarities[i] = material.getStat(partType, ItemStats.RARITY);
+            tiers[i] = material.getTier(partType);
+            maxRarity = Math.max(maxRarity, rarities[i]);
+            maxTier = Math.max(maxTier, tiers[i]);
+        }
+
         // First, we add a bonus for the number of unique materials
-        double synergy = getBaseSynergy(materials);
+        double synergy = getBaseSynergy(uniques.size());
 
         // Second, reduce synergy for differences in certain properties
-        IMaterialInstance primary = materials.get(0);
-        final double primaryRarity = primary.getStat(partType, ItemStats.RARITY);
-        final double maxRarity = materials.stream()
-                .mapToDouble(m -> m.getStat(partType, ItemStats.RARITY))
-                .max().orElse(0);
-        final int maxTier = materials.stream()
-                .mapToInt(m -> m.getTier(partType))
-                .max().orElse(0);
-
-        for (IMaterialInstance material : getUniques(materials)) {
+        final double primaryRarity = rarities[0];
+
+        for (int i : uniques.values()) {
             if (maxRarity > 0) {
-                float rarity = material.getStat(partType, ItemStats.RARITY);
+                float rarity = rarities[i];
                 synergy -= 0.005 * Math.abs(primaryRarity - rarity);
             }
             if (maxTier > 0) {
-                int tier = material.getTier(partType);
+                int tier = tiers[i];
                 synergy -= 0.08 * Math.abs(maxTier - tier);
             }
         }
 
-        // Synergy traits
-        for (TraitInstance trait : traits) {
-            if (trait.getTrait() instanceof SynergyTrait) {
-                synergy = ((SynergyTrait) trait.getTrait()).apply(synergy, trait.getLevel());
+        return synergy;
+    }
+
+    /**
+     * Clears cached synergy values. Must be called whenever materials are reloaded or received from
+     * the server.
+     */
+    public static void clearCache() {
+        CACHE_GENERATION.incrementAndGet();
+        MATERIAL_SYNERGY_CACHE.invalidateAll();
+    }
+
+    /**
+     * Computes and caches the synergy of material combinations on a background thread, so they do
+     * not need to be computed when first displayed or crafted. Only combinations of simple
+     * materials are cached. If the cache is cleared before this completes, the remaining
+     * combinations are skipped. Nothing is computed if {@link GetMaterialStatsEvent} has
+     * listeners, because they would be called off the main thread.
+     *
+     * @param partType     The part type
+     * @param combinations Material combinations, in the same order they would be in a part
+     * @return A future which completes when all combinations are computed
+     * @since 2.6.28
+     */
+    public static CompletableFuture<Void> precompute(PartType partType, Collection<? extends List<? extends IMaterialInstance>> combinations) {
+        if (GetMaterialStatsEvent.hasListeners()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final int generation = CACHE_GENERATION.get();
+        return CompletableFuture.runAsync(() -> {
+            for (List<? extends IMaterialInstance> materials : combinations) {
+                if (CACHE_GENERATION.get() != generation) {
+                    return;
+                }
+                if (!materials.isEmpty()) {
+                    getMaterialSynergy(generation, partType, materials);
+                }
             }
+        }, Util.getServerExecutor());
+    }
+
+    /**
+     * Precomputes synergy of parts made from a single simple material, for every material and each
+     * part type it is allowed in. These are the parts shown by JEI and the compounders. Called after
+     * materials are loaded.
+     *
+     * @return A future which completes when all combinations are computed
+     * @since 2.6.28
+     */
+    public static CompletableFuture<Void> precomputeSingleMaterials() {
+        if (GetMaterialStatsEvent.hasListeners()) {
+            return CompletableFuture.completedFuture(null);
         }
 
-        return (float) MathHelper.clamp(synergy, MIN_VALUE, MAX_VALUE);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        Collection<IMaterial> materials = MaterialManager.getValues();
+
+        for (PartType partType : PartType.getValues()) {
+            if (partType == PartType.NONE) continue;
+
+            List<List<MaterialInstance>> combinations = new ArrayList<>();
+            for (IMaterial material : materials) {
+                // Crafting item is not needed, and ingredients may not be usable yet during reloads
+                MaterialInstance instance = MaterialInstance.of(material, MaterialGrade.NONE, ItemStack.EMPTY);
+                if (material.isSimple() && material.allowedInPart(instance, partType)) {
+                    combinations.add(Collections.singletonList(instance));
+                }
+            }
+            futures.add(precompute(partType, combinations));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .exceptionally(ex -> {
+                    SilentGear.LOGGER.error("Failed to precompute material synergy", ex);
+                    return null;
+                });
     }
 
     public static Collection<IMaterialInstance> getUniques(Collection<? extends IMaterialInstance> materials) {
@@ -84,16 +206,54 @@ public final class SynergyUtils {
         return TextUtil.translate("misc", "synergy", value);
     }
 
-    private static double getBaseSynergy(Collection<? extends IMaterialInstance> materials) {
-        final int x = getUniqueCount(materials);
+    private static double getBaseSynergy(int uniqueCount) {
+        final int x = uniqueCount;
         final double a = SYNERGY_MULTI;
         return a * (x / (x + a)) + (1 / (1 + a));
     }
 
-    private static int getUniqueCount(Collection<? extends IMaterialInstance> materials) {
-        return materials.stream()
-                .map(IMaterialInstance::getId)
-                .collect(Collectors.toSet())
-                .size();
+    private static final class SynergyKey {
+        private final int generation;
+        private final PartType partType;
+        private final List<MaterialInstance.StatSignature> materials;
+        private final int hash;
+
+        private SynergyKey(int generation, PartType partType, List<MaterialInstance.StatSignature> materials) {
+            this.generation = generation;
+            this.partType = partType;
+            this.materials = materials;
+            this.hash = Objects.hash(generation, partType, materials);
+        }
+
+        @Nullable
+        static SynergyKey of(int generation, PartType partType, List<? extends IMaterialInstance> materials) {
+            ImmutableList.Builder<MaterialInstance.StatSignature> signatures = ImmutableList.builder();
+            for (IMaterialInstance material : materials) {
+                MaterialInstance.StatSignature signature = material instanceof MaterialInstance
+                        ? ((MaterialInstance) material).getStatSignature()
+                        : null;
+                if (signature == null) {
+                    return null;
+                }
+                signatures.add(signature);
+            }
+            return new SynergyKey(generation, partType, signatures.build());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SynergyKey that = (SynergyKey) o;
+            return hash == that.hash &&
+                    generation == that.generation &&
+                    partType == that.partType &&
+                    materials.equals(that.materials);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
 }
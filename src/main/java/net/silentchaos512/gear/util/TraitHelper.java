@@ -22,33 +22,34 @@ import com.google.common.collect.ImmutableMap;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.CompoundNBT;
-import net.minecraft.nbt.INBT;
-import net.minecraft.nbt.ListNBT;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraftforge.common.MinecraftForge;
-import net.minecraftforge.common.util.Constants;
-import net.minecraftforge.fml.ModList;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.event.GetTraitsEvent;
 import net.silentchaos512.gear.api.item.GearType;
 import net.silentchaos512.gear.api.part.PartDataList;
 import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.api.traits.TraitActionContext;
+import net.silentchaos512.gear.api.traits.TraitConditionContext;
 import net.silentchaos512.gear.api.traits.TraitFunction;
 import net.silentchaos512.gear.api.traits.TraitInstance;
+import net.silentchaos512.gear.api.util.GearBuildContext;
 import net.silentchaos512.gear.api.util.IGearComponentInstance;
 import net.silentchaos512.gear.api.util.PartGearKey;
-import net.silentchaos512.gear.compat.curios.CuriosCompat;
 import net.silentchaos512.gear.gear.part.PartData;
+import net.silentchaos512.gear.gear.trait.TraitCancelMatrix;
+import net.silentchaos512.gear.gear.trait.TraitHook;
 import net.silentchaos512.gear.gear.trait.TraitManager;
 
 import javax.annotation.Nullable;
 import java.util.*;
 
 public final class TraitHelper {
+    // Hook mask which matches every trait, including those which implement no hooks
+    private static final int ANY_TRAIT = -1;
+
     private TraitHelper() {throw new IllegalAccessError("Utility class");}
 
     /**
@@ -66,25 +67,41 @@ public final class TraitHelper {
      * @return The {@code inputValue} modified by traits.
      */
     public static float activateTraits(ItemStack gear, final float inputValue, TraitFunction action) {
+        return activateTraits(gear, inputValue, ANY_TRAIT, action);
+    }
+
+    /**
+     * Same as {@link #activateTraits(ItemStack, float, TraitFunction)}, but only applies the
+     * function to traits which implement the hook. Traits which do not implement it would not
+     * change the value, so this gives the same result with less work.
+     *
+     * @param gear       The {@link net.silentchaos512.gear.api.item.ICoreItem} affected
+     * @param inputValue The base value to have the traits act on.
+     * @param hook       The trait method the action calls
+     * @param action     The specific action to apply to each trait
+     * @return The {@code inputValue} modified by traits.
+     * @since 2.6.28
+     */
+    public static float activateTraits(ItemStack gear, final float inputValue, TraitHook hook, TraitFunction action) {
+        return activateTraits(gear, inputValue, hook.getBit(), action);
+    }
+
+    private static float activateTraits(ItemStack gear, final float inputValue, int hookMask, TraitFunction action) {
         if (!GearHelper.isGear(gear)) {
             SilentGear.LOGGER.error("Called activateTraits on non-gear item, {}", gear);
             SilentGear.LOGGER.catching(new IllegalArgumentException());
             return inputValue;
         }
 
-        ListNBT tagList = GearData.getPropertiesData(gear).getList("Traits", Constants.NBT.TAG_COMPOUND);
-        float value = inputValue;
-
-        for (INBT nbt : tagList) {
-            if (nbt instanceof CompoundNBT) {
-                CompoundNBT tagCompound = (CompoundNBT) nbt;
-                String regName = tagCompound.getString("Name");
-                ITrait trait = TraitManager.get(regName);
+        TraitListCache.CompiledTraits traits = TraitListCache.get(gear);
+        if (hookMask != ANY_TRAIT && (traits.allHooks & hookMask) == 0) {
+            return inputValue;
+        }
 
-                if (trait != null) {
-                    int level = tagCompound.getByte("Level");
-                    value = action.apply(trait, level, value);
-                }
+        float value = inputValue;
+        for (int i = 0; i < traits.traits.length; ++i) {
+            if (hookMask == ANY_TRAIT || (traits.hookMasks[i] & hookMask) != 0) {
+                value = action.apply(traits.traits[i], traits.levels[i], value);
             }
         }
 
@@ -127,16 +144,10 @@ public final class TraitHelper {
      */
     public static int getTraitLevel(ItemStack gear, ResourceLocation traitId) {
         if (GearHelper.isGear(gear)) {
-            ListNBT tagList = GearData.getPropertiesData(gear).getList("Traits", Constants.NBT.TAG_COMPOUND);
-
-            for (INBT nbt : tagList) {
-                if (nbt instanceof CompoundNBT) {
-                    CompoundNBT tagCompound = (CompoundNBT) nbt;
-                    String regName = tagCompound.getString("Name");
-                    if (regName.equals(traitId.toString())) {
-                        return tagCompound.getByte("Level");
-                    }
-                }
+            TraitListCache.CompiledTraits traits = TraitListCache.get(gear);
+            int index = traits.indexOf(traitId);
+            if (index >= 0) {
+                return traits.getLevelAt(index);
             }
         }
 
@@ -169,19 +180,7 @@ public final class TraitHelper {
      */
     public static boolean hasTrait(ItemStack gear, ResourceLocation traitId) {
         if (GearHelper.isGear(gear)) {
-            ListNBT tagList = GearData.getPropertiesData(gear).getList("Traits", Constants.NBT.TAG_COMPOUND);
-
-            for (INBT nbt : tagList) {
-                if (nbt instanceof CompoundNBT) {
-                    CompoundNBT tagCompound = (CompoundNBT) nbt;
-                    String regName = tagCompound.getString("Name");
-                    if (regName.equals(traitId.toString())) {
-                        return true;
-                    }
-                }
-            }
-
-            return false;
+            return TraitListCache.get(gear).indexOf(traitId) >= 0;
         }
 
         return false;
@@ -193,24 +192,15 @@ public final class TraitHelper {
 
     @Deprecated
     public static int getHighestLevelEitherHand(PlayerEntity player, ResourceLocation traitId) {
-        ItemStack main = player.getHeldItemMainhand();
-        ItemStack off = player.getHeldItemOffhand();
-        return Math.max(getTraitLevel(main, traitId), getTraitLevel(off, traitId));
+        return EquippedTraits.getHighestLevel(player, EquippedTraits.Group.HANDS, traitId);
     }
 
     public static int getHighestLevelArmor(PlayerEntity player, DataResource<ITrait> trait) {
-        int max = 0;
-        for (ItemStack stack : player.inventory.armorInventory) {
-            max = Math.max(max, getTraitLevel(stack, trait));
-        }
-        return max;
+        return EquippedTraits.getHighestLevel(player, EquippedTraits.Group.ARMOR, trait.getId());
     }
 
     public static int getHighestLevelCurio(LivingEntity entity, DataResource<ITrait> trait) {
-        if (ModList.get().isLoaded(Const.CURIOS)) {
-            return CuriosCompat.getHighestTraitLevel(entity, trait);
-        }
-        return 0;
+        return EquippedTraits.getHighestLevel(entity, EquippedTraits.Group.CURIOS, trait.getId());
     }
 
     public static boolean hasTraitEitherHand(PlayerEntity player, DataResource<ITrait> trait) {
@@ -219,35 +209,50 @@ public final class TraitHelper {
 
     @Deprecated
     public static boolean hasTraitEitherHand(PlayerEntity player, ResourceLocation traitId) {
-        ItemStack main = player.getHeldItemMainhand();
-        ItemStack off = player.getHeldItemOffhand();
-        return hasTrait(main, traitId) || hasTrait(off, traitId);
+        return EquippedTraits.hasTrait(player, EquippedTraits.Group.HANDS, traitId);
     }
 
     public static boolean hasTraitArmor(PlayerEntity player, DataResource<ITrait> trait) {
-        for (ItemStack stack : player.inventory.armorInventory) {
-            if (hasTrait(stack, trait)) {
-                return true;
-            }
-        }
-        return false;
+        return EquippedTraits.hasTrait(player, EquippedTraits.Group.ARMOR, trait.getId());
+    }
+
+    /**
+     * Drops the trait lists decoded from gear NBT. These hold trait instances, so they must be
+     * cleared whenever traits are loaded or synced.
+     *
+     * @since 2.6.28
+     */
+    public static void clearCachedTraitLists() {
+        TraitListCache.invalidate();
     }
 
     public static Map<ITrait, Integer> getCachedTraits(ItemStack gear) {
+        return getCachedTraits(gear, ANY_TRAIT);
+    }
+
+    /**
+     * Gets the traits of the gear which implement the hook. Returns an empty map without decoding
+     * anything else if none of them do.
+     *
+     * @param gear The gear item
+     * @param hook The trait method which will be called
+     * @return A Map of Traits to their levels
+     * @since 2.6.28
+     */
+    public static Map<ITrait, Integer> getCachedTraits(ItemStack gear, TraitHook hook) {
+        return getCachedTraits(gear, hook.getBit());
+    }
+
+    private static Map<ITrait, Integer> getCachedTraits(ItemStack gear, int hookMask) {
         if (!GearHelper.isGear(gear)) return ImmutableMap.of();
 
+        TraitListCache.CompiledTraits traits = TraitListCache.get(gear);
+        if (hookMask != ANY_TRAIT && (traits.allHooks & hookMask) == 0) return ImmutableMap.of();
+
         Map<ITrait, Integer> result = new LinkedHashMap<>();
-        ListNBT tagList = GearData.getPropertiesData(gear).getList("Traits", Constants.NBT.TAG_COMPOUND);
-
-        for (INBT nbt : tagList) {
-            if (nbt instanceof CompoundNBT) {
-                CompoundNBT tagCompound = (CompoundNBT) nbt;
-                String name = tagCompound.getString("Name");
-                ITrait trait = TraitManager.get(name);
-                int level = tagCompound.getByte("Level");
-                if (trait != null && level > 0) {
-                    result.put(trait, level);
-                }
+        for (int i = 0; i < traits.traits.length; ++i) {
+            if (traits.levels[i] > 0 && (hookMask == ANY_TRAIT || (traits.hookMasks[i] & hookMask) != 0)) {
+                result.put(traits.traits[i], traits.levels[i]);
             }
         }
 
@@ -270,15 +275,32 @@ public final class TraitHelper {
      * @return A Map of Traits to their levels
      */
     public static Map<ITrait, Integer> getTraits(ItemStack gear, GearType gearType, PartDataList parts) {
+        return getTraits(gear, gearType, parts, GearBuildContext.of(gear, parts));
+    }
+
+    /**
+     * Gets a Map of Traits and levels from the parts, reusing data decoded in the build context.
+     *
+     * @param gear     The item
+     * @param gearType The gear type
+     * @param parts    The list of all parts used in constructing the gear.
+     * @param context  The context of the current gear build
+     * @return A Map of Traits to their levels
+     */
+    public static Map<ITrait, Integer> getTraits(ItemStack gear, GearType gearType, PartDataList parts, GearBuildContext context) {
         if (parts.isEmpty() || (!gear.isEmpty() && GearHelper.isBroken(gear)))
             return ImmutableMap.of();
 
         Map<ITrait, Integer> result = new LinkedHashMap<>();
 
+        // Parts with the same key share a condition context
+        Map<PartGearKey, TraitConditionContext> conditionContexts = new HashMap<>();
+
         for (PartData part : parts) {
             PartGearKey key = PartGearKey.of(gearType, part);
-            for (TraitInstance inst : part.getTraits(key, gear)) {
-                if (inst.conditionsMatch(key, gear, parts)) {
+            TraitConditionContext conditionContext = conditionContexts.computeIfAbsent(key, k -> TraitConditionContext.of(k, gear, parts));
+            for (TraitInstance inst : part.getTraits(key, gear, context)) {
+                if (inst.conditionsMatch(conditionContext)) {
                     ITrait trait = inst.getTrait();
                     // Get the highest value in any part
                     result.merge(trait, inst.getLevel(), Integer::max);
@@ -294,6 +316,19 @@ public final class TraitHelper {
     }
 
     public static List<TraitInstance> getTraits(List<? extends IGearComponentInstance<?>> components, PartGearKey partKey, ItemStack gear) {
+        return getTraits(TraitConditionContext.of(partKey, gear, components));
+    }
+
+    /**
+     * Gets the traits of the components of the context, with levels averaged and conditions
+     * checked. The traits of each component are only read once, through the context.
+     *
+     * @param conditionContext The components, part key, and gear item
+     * @return The traits
+     * @since 2.6.28
+     */
+    public static List<TraitInstance> getTraits(TraitConditionContext conditionContext) {
+        List<? extends IGearComponentInstance<?>> components = conditionContext.getComponents();
         if (components.isEmpty()) {
             return Collections.emptyList();
         }
@@ -301,9 +336,9 @@ public final class TraitHelper {
         Map<ITrait, Integer> map = new LinkedHashMap<>();
         Map<ITrait, Integer> countMatsWithTrait = new HashMap<>();
 
-        for (IGearComponentInstance<?> comp : components) {
-            for (TraitInstance inst : comp.getTraits(partKey, gear)) {
-                if (inst.conditionsMatch(partKey, gear, components)) {
+        for (int i = 0; i < components.size(); ++i) {
+            for (TraitInstance inst : conditionContext.getTraits(i)) {
+                if (inst.conditionsMatch(conditionContext)) {
                     map.merge(inst.getTrait(), inst.getLevel(), Integer::sum);
                     countMatsWithTrait.merge(inst.getTrait(), 1, Integer::sum);
                 }
@@ -329,14 +364,31 @@ public final class TraitHelper {
     }
 
     private static void cancelTraits(Map<ITrait, Integer> mapToModify, ITrait[] keys) {
+        TraitCancelMatrix matrix = TraitManager.getCancelMatrix();
+        int[] indices = new int[keys.length];
+        long[] indexSet = matrix.newIndexSet();
+        boolean allIndexed = true;
+
+        for (int i = 0; i < keys.length; ++i) {
+            indices[i] = matrix.indexOf(keys[i]);
+            if (indices[i] >= 0) {
+                matrix.add(indexSet, indices[i]);
+            } else {
+                allIndexed = false;
+            }
+        }
+
         for (int i = 0; i < keys.length; ++i) {
             ITrait t1 = keys[i];
 
+            // Skip traits which cancel with nothing else in the list
+            if (allIndexed && !matrix.cancelsWithAny(indices[i], indexSet)) continue;
+
             if (mapToModify.containsKey(t1)) {
                 for (int j = i + 1; j < keys.length; ++j) {
                     ITrait t2 = keys[j];
 
-                    if (mapToModify.containsKey(t2) && t1.willCancelWith(t2)) {
+                    if (mapToModify.containsKey(t2) && willCancelWith(matrix, t1, indices[i], t2, indices[j])) {
                         final int level = mapToModify.get(t1);
                         final int otherLevel = mapToModify.get(t2);
                         final int cancelLevel = t1.getCanceledLevel(level, t2, otherLevel);
@@ -359,17 +411,24 @@ public final class TraitHelper {
         }
     }
 
-    static void tickTraits(World world, @Nullable PlayerEntity player, ItemStack gear, boolean isEquipped) {
-        ListNBT tagList = GearData.getPropertiesData(gear).getList("Traits", Constants.NBT.TAG_COMPOUND);
-
-        for (int i = 0; i < tagList.size(); ++i) {
-            CompoundNBT tagCompound = tagList.getCompound(i);
-            String regName = tagCompound.getString("Name");
-            ITrait trait = TraitManager.get(regName);
+    private static boolean willCancelWith(TraitCancelMatrix matrix, ITrait t1, int index1, ITrait t2, int index2) {
+        if (index1 >= 0 && index2 >= 0) {
+            return matrix.cancels(index1, index2);
+        }
+        // Trait instances from before a reload are not in the matrix
+        return t1.willCancelWith(t2);
+    }
 
-            if (trait != null) {
-                int level = tagCompound.getByte("Level");
-                TraitActionContext context = new TraitActionContext(player, level, gear);
+    static void tickTraits(World world, @Nullable PlayerEntity player, ItemStack gear, boolean isEquipped) {
+        TraitListCache.CompiledTraits traits = TraitListCache.get(gear);
+        int[][] wheel = traits.updateWheel;
+        if (wheel.length == 0) return;
+
+        long ticks = player != null ? player.ticksExisted : world.getGameTime();
+        for (int i : wheel[(int) Math.floorMod(ticks, (long) wheel.length)]) {
+            ITrait trait = traits.traits[i];
+            if (traits.updateWheelExact || TraitListCache.CompiledTraits.isUpdateDue(trait, ticks)) {
+                TraitActionContext context = new TraitActionContext(player, traits.levels[i], gear);
                 trait.onUpdate(context, isEquipped);
             }
         }
@@ -0,0 +1,223 @@
+package net.silentchaos512.gear.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.nbt.INBT;
+import net.minecraft.nbt.IntArrayNBT;
+import net.minecraft.nbt.ListNBT;
+import net.minecraft.util.ResourceLocation;
+import net.silentchaos512.gear.api.traits.ITrait;
+import net.silentchaos512.gear.gear.trait.TraitHook;
+import net.silentchaos512.gear.gear.trait.TraitManager;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transient cache of decoded gear trait lists. Works like {@link StatSnapshotCache}: the traits
+ * list (or packed traits, see {@link PackedTraits}) of a gear item is replaced whenever stats are
+ * recalculated, so the tag instance is used as the key, and a new tag naturally invalidates the old
+ * entry. Entries are also dropped when traits are reloaded, since they hold trait instances.
+ */
+final class TraitListCache {
+    private static final Cache<INBT, CompiledTraits> CACHE = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    private TraitListCache() {
+        throw new IllegalAccessError("Utility class");
+    }
+
+    static CompiledTraits get(ItemStack gear) {
+        // Either a list of trait compounds, or packed traits
+        INBT nbt = GearData.getPropertiesData(gear).get("Traits");
+        if (!(nbt instanceof ListNBT) && !(nbt instanceof IntArrayNBT)) {
+            return CompiledTraits.EMPTY;
+        }
+
+        int generation = GENERATION.get();
+        CompiledTraits ret;
+        try {
+            ret = CACHE.get(nbt, () -> new CompiledTraits(nbt, generation));
+        } catch (ExecutionException ex) {
+            return new CompiledTraits(nbt, generation);
+        }
+
+        if (ret.generation != generation) {
+            ret = new CompiledTraits(nbt, generation);
+            CACHE.put(nbt, ret);
+        }
+        return ret;
+    }
+
+    /**
+     * Gets the current generation, which changes whenever compiled trait lists are dropped.
+     *
+     * @return The generation
+     */
+    static int getGeneration() {
+        return GENERATION.get();
+    }
+
+    /**
+     * Drops all compiled trait lists. Call this after traits are loaded or synced.
+     */
+    static void invalidate() {
+        GENERATION.incrementAndGet();
+        CACHE.invalidateAll();
+    }
+
+    /**
+     * Immutable, decoded copy of a traits list. Entries are kept in list order.
+     */
+    static final class CompiledTraits {
+        private static final CompiledTraits EMPTY = new CompiledTraits(new ListNBT(), -1);
+        private static final int MAX_WHEEL_SIZE = 120;
+
+        private final int generation;
+        // All entries, used to look up traits by ID. IDs which are not valid are null.
+        private final ResourceLocation[] ids;
+        private final int[] idLevels;
+        // Only entries of traits which exist
+        final ITrait[] traits;
+        final int[] levels;
+        // TraitHook masks of the traits, and all of them combined
+        final int[] hookMasks;
+        final int allHooks;
+        // Timing wheel of onUpdate calls, indexed by tick modulo its length. Each slot holds the
+        // indices of traits which are due on that tick. If the periods of the traits do not fit
+        // in a wheel, it has one slot holding all of them and each must check its own period.
+        final int[][] updateWheel;
+        final boolean updateWheelExact;
+
+        private CompiledTraits(INBT traitsNbt, int generation) {
+            this.generation = generation;
+
+            List<ResourceLocation> idList = new ArrayList<>();
+            IntList allLevels = new IntArrayList();
+
+            if (traitsNbt instanceof IntArrayNBT) {
+                PackedTraits.unpack(((IntArrayNBT) traitsNbt).getIntArray(), (id, level) -> {
+                    idList.add(id);
+                    allLevels.add(level);
+                });
+            } else {
+                for (INBT nbt : (ListNBT) traitsNbt) {
+                    if (nbt instanceof CompoundNBT) {
+                        CompoundNBT tagCompound = (CompoundNBT) nbt;
+                        String regName = tagCompound.getString("Name");
+
+                        ResourceLocation id = ResourceLocation.tryCreate(regName);
+                        // Names are compared exactly, so one without a namespace never matches an ID
+                        idList.add(id != null && id.toString().equals(regName) ? id : null);
+                        allLevels.add(tagCompound.getByte("Level"));
+                    }
+                }
+            }
+
+            List<ITrait> traitList = new ArrayList<>(idList.size());
+            int[] traitLevels = new int[idList.size()];
+            for (int i = 0; i < idList.size(); ++i) {
+                ResourceLocation id = idList.get(i);
+                ITrait trait = id != null ? TraitManager.get(id) : null;
+                if (trait != null) {
+                    traitLevels[traitList.size()] = allLevels.getInt(i);
+                    traitList.add(trait);
+                }
+            }
+
+            this.ids = idList.toArray(new ResourceLocation[0]);
+            this.idLevels = allLevels.toIntArray();
+            this.traits = traitList.toArray(new ITrait[0]);
+            this.levels = traitLevels;
+
+            this.hookMasks = new int[this.traits.length];
+            int union = 0;
+            for (int i = 0; i < this.traits.length; ++i) {
+                this.hookMasks[i] = TraitHook.getMask(this.traits[i]);
+                union |= this.hookMasks[i];
+            }
+            this.allHooks = union;
+
+            List<Integer> updating = new ArrayList<>();
+            int wheelSize = 1;
+            for (int i = 0; i < this.traits.length; ++i) {
+                if ((this.hookMasks[i] & TraitHook.UPDATE.getBit()) != 0) {
+                    updating.add(i);
+                    wheelSize = lcm(wheelSize, getUpdatePeriod(this.traits[i]));
+                }
+            }
+
+            if (updating.isEmpty()) {
+                this.updateWheel = new int[0][];
+                this.updateWheelExact = true;
+            } else if (wheelSize > MAX_WHEEL_SIZE) {
+                this.updateWheel = new int[][]{updating.stream().mapToInt(Integer::intValue).toArray()};
+                this.updateWheelExact = false;
+            } else {
+                this.updateWheel = new int[wheelSize][];
+                for (int tick = 0; tick < wheelSize; ++tick) {
+                    final int t = tick;
+                    this.updateWheel[tick] = updating.stream()
+                            .filter(i -> isUpdateDue(this.traits[i], t))
+                            .mapToInt(Integer::intValue)
+                            .toArray();
+                }
+                this.updateWheelExact = true;
+            }
+        }
+
+        static int getUpdatePeriod(ITrait trait) {
+            return Math.max(1, trait.getUpdatePeriod());
+        }
+
+        static boolean isUpdateDue(ITrait trait, long ticks) {
+            return Math.floorMod(ticks - trait.getUpdatePhase(), (long) getUpdatePeriod(trait)) == 0;
+        }
+
+        private static int lcm(int a, int b) {
+            long ret = (long) a / gcd(a, b) * b;
+            return (int) Math.min(ret, MAX_WHEEL_SIZE + 1);
+        }
+
+        private static int gcd(int a, int b) {
+            return b == 0 ? a : gcd(b, a % b);
+        }
+
+        /**
+         * Gets the index of the first entry with the ID.
+         *
+         * @param traitId The trait ID
+         * @return The index, or -1 if there is no entry with the ID
+         */
+        int indexOf(ResourceLocation traitId) {
+            for (int i = 0; i < ids.length; ++i) {
+                if (traitId.equals(ids[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int getLevelAt(int index) {
+            return idLevels[index];
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        @Nullable
+        ResourceLocation getIdAt(int index) {
+            return ids[index];
+        }
+    }
+}